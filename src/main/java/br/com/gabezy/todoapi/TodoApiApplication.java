@@ -1,11 +1,15 @@
 package br.com.gabezy.todoapi;
 
+import br.com.gabezy.todoapi.config.properties.JwtProperties;
+import br.com.gabezy.todoapi.config.properties.PasswordHashingProperties;
 import br.com.gabezy.todoapi.config.properties.SwaggerProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@EnableConfigurationProperties(SwaggerProperties.class)
+@EnableConfigurationProperties({SwaggerProperties.class, JwtProperties.class, PasswordHashingProperties.class})
+@EnableScheduling
 @SpringBootApplication
 public class TodoApiApplication {
 
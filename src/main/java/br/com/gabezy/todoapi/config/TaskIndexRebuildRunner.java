@@ -0,0 +1,27 @@
+package br.com.gabezy.todoapi.config;
+
+import br.com.gabezy.todoapi.services.TaskIndexService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the task search index from the database on startup, e.g. {@code --todo-api.task-index.rebuild=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "todo-api.task-index.rebuild", havingValue = "true")
+public class TaskIndexRebuildRunner implements ApplicationRunner {
+
+    private final TaskIndexService taskIndexService;
+
+    public TaskIndexRebuildRunner(TaskIndexService taskIndexService) {
+        this.taskIndexService = taskIndexService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        taskIndexService.rebuild();
+    }
+
+}
@@ -1,8 +1,10 @@
 package br.com.gabezy.todoapi.config.expectionhandler;
 
 import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import br.com.gabezy.todoapi.exceptions.BadRequestException;
 import br.com.gabezy.todoapi.exceptions.InvalidCredentialsException;
 import br.com.gabezy.todoapi.exceptions.ResourceNotFoundException;
+import br.com.gabezy.todoapi.exceptions.RetryLaterException;
 import org.springframework.http.*;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
@@ -39,6 +41,13 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
         return this.handleExceptionInternal(ex, error, new HttpHeaders(), HttpStatus.NOT_FOUND, request);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Object> handleBadRequestException(BadRequestException ex, WebRequest request) {
+        ErrorCode errorCode = ErrorCode.getErrorCodeByMessage(ex.getMessage());
+        var error = new ResponseError(errorCode.name(), ex.getMessage(), Collections.emptyMap());
+        return this.handleExceptionInternal(ex, error, new HttpHeaders(), HttpStatus.BAD_REQUEST, request);
+    }
+
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<Object> handleInvalidCredentialsException(InvalidCredentialsException ex, WebRequest request) {
         ErrorCode errorCode = ErrorCode.getErrorCodeByMessage(ex.getMessage());
@@ -46,6 +55,15 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
         return this.handleExceptionInternal(ex, error, new HttpHeaders(), HttpStatus.FORBIDDEN, request);
     }
 
+    @ExceptionHandler(RetryLaterException.class)
+    public ResponseEntity<Object> handleRetryLaterException(RetryLaterException ex, WebRequest request) {
+        ErrorCode errorCode = ErrorCode.getErrorCodeByMessage(ex.getMessage());
+        var error = new ResponseError(errorCode.name(), ex.getMessage(), Collections.emptyMap());
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return this.handleExceptionInternal(ex, error, headers, ex.getStatus(), request);
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<Object> handleAuthenticationException(AuthenticationException ex, WebRequest request) {
         return this.handleExceptionInternal(ex, null, new HttpHeaders(), HttpStatus.UNAUTHORIZED, request);
@@ -0,0 +1,57 @@
+package br.com.gabezy.todoapi.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties("todo-api")
+public class JwtProperties {
+
+    private String jwtSecret;
+    private String jwtIssuer;
+    private String jwtKeyId = "default";
+    private Map<String, String> jwtRetiringKeys = new LinkedHashMap<>();
+    private boolean jwtClaimsOnly;
+
+
+    public String getJwtSecret() {
+        return jwtSecret;
+    }
+
+    public void setJwtSecret(String jwtSecret) {
+        this.jwtSecret = jwtSecret;
+    }
+
+    public String getJwtIssuer() {
+        return jwtIssuer;
+    }
+
+    public void setJwtIssuer(String jwtIssuer) {
+        this.jwtIssuer = jwtIssuer;
+    }
+
+    public String getJwtKeyId() {
+        return jwtKeyId;
+    }
+
+    public void setJwtKeyId(String jwtKeyId) {
+        this.jwtKeyId = jwtKeyId;
+    }
+
+    public Map<String, String> getJwtRetiringKeys() {
+        return jwtRetiringKeys;
+    }
+
+    public void setJwtRetiringKeys(Map<String, String> jwtRetiringKeys) {
+        this.jwtRetiringKeys = jwtRetiringKeys;
+    }
+
+    public boolean isJwtClaimsOnly() {
+        return jwtClaimsOnly;
+    }
+
+    public void setJwtClaimsOnly(boolean jwtClaimsOnly) {
+        this.jwtClaimsOnly = jwtClaimsOnly;
+    }
+}
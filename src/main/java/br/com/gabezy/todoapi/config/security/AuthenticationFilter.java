@@ -1,19 +1,21 @@
 package br.com.gabezy.todoapi.config.security;
 
 import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
+import br.com.gabezy.todoapi.domain.detail.VerifiedToken;
+import br.com.gabezy.todoapi.domain.entity.Role;
 import br.com.gabezy.todoapi.domain.entity.User;
 import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import br.com.gabezy.todoapi.domain.enumaration.RoleName;
 import br.com.gabezy.todoapi.exceptions.ResourceNotFoundException;
 import br.com.gabezy.todoapi.repositories.UserRespository;
 import br.com.gabezy.todoapi.services.JwtTokenService;
-import br.com.gabezy.todoapi.utils.EndpointUtil;
+import br.com.gabezy.todoapi.services.TokenRevocationService;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,7 +24,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 @Component
@@ -30,10 +32,20 @@ public class AuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenService jwtTokenService;
     private final UserRespository userRespository;
-
-    public AuthenticationFilter(JwtTokenService jwtTokenService, UserRespository userRespository) {
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final PublicRouteMatcher publicRouteMatcher;
+
+    public AuthenticationFilter(JwtTokenService jwtTokenService, UserRespository userRespository,
+                                VerifiedTokenCache verifiedTokenCache, PrincipalCache principalCache,
+                                TokenRevocationService tokenRevocationService, PublicRouteMatcher publicRouteMatcher) {
         this.jwtTokenService = jwtTokenService;
         this.userRespository = userRespository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.publicRouteMatcher = publicRouteMatcher;
     }
 
     @Override
@@ -68,24 +80,60 @@ public class AuthenticationFilter extends OncePerRequestFilter {
     }
 
     private Authentication authenticateUser(String token) {
-        String subject = jwtTokenService.getSubjectFromToken(token);
+        VerifiedToken verifiedToken = verifiedTokenCache.get(token, jwtTokenService::verifyToken);
 
-        User user = userRespository.findByEmail(subject)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND));
+        if (tokenRevocationService.isRevoked(verifiedToken)) {
+            throw new JWTVerificationException("Token has been revoked");
+        }
+
+        UserDetails userDetails = jwtTokenService.isClaimsOnly() && verifiedToken.hasPrincipalClaims()
+                ? buildPrincipalFromClaims(verifiedToken)
+                : principalCache.get(verifiedToken.subject(), this::loadPrincipal);
 
-        UserDetails userDetails = new UserDetailsImpl(user);
+        var authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(verifiedToken);
 
-        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        return authentication;
     }
 
-    private boolean isPublicEndpoint(HttpServletRequest request) {
-        String requestUri = request.getRequestURI();
+    private UserDetailsImpl buildPrincipalFromClaims(VerifiedToken verifiedToken) {
+        List<Role> roles = verifiedToken.roles().stream()
+                .map(roleName -> {
+                    Role role = new Role();
+                    role.setName(toRoleName(roleName));
+                    return role;
+                })
+                .toList();
+
+        User user = new User();
+        user.setId(verifiedToken.userId());
+        user.setEmail(verifiedToken.subject());
+        user.setRoles(roles);
+
+        return new UserDetailsImpl(user);
+    }
+
+    /**
+     * A signed token can still carry a role that no longer exists, e.g. one issued by an older build, which is rejected
+     * like any other invalid token.
+     */
+    private static RoleName toRoleName(String roleName) {
+        try {
+            return RoleName.valueOf(roleName);
+        } catch (IllegalArgumentException ex) {
+            throw new JWTVerificationException("Unknown role in token", ex);
+        }
+    }
 
-        boolean isPublicEndpoint = Arrays.stream(EndpointUtil.PUBLIC_ENDPOINTS).anyMatch(requestUri::startsWith);
-        boolean isPostPublicEndpoint = Arrays.stream(EndpointUtil.PUBLIC_POST_ENDPOINTS).anyMatch(requestUri::startsWith)
-                && request.getMethod().equals(HttpMethod.POST.name());
+    private UserDetailsImpl loadPrincipal(String email) {
+        User user = userRespository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND));
 
-        return isPublicEndpoint || isPostPublicEndpoint;
+        return new UserDetailsImpl(user);
+    }
+
+    private boolean isPublicEndpoint(HttpServletRequest request) {
+        return publicRouteMatcher.matches(request);
     }
 
 }
@@ -0,0 +1,42 @@
+package br.com.gabezy.todoapi.config.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the highest BCrypt cost whose hash time on this host stays within the target latency.
+ * Only the minimum cost is measured; every additional cost step doubles the work, so higher costs are extrapolated.
+ */
+public class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+    private static final int SAMPLES = 3;
+
+    public int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        long estimatedNanos = measure(minStrength).toNanos();
+        int strength = minStrength;
+
+        while (strength < maxStrength && estimatedNanos * 2 <= targetLatency.toNanos()) {
+            estimatedNanos *= 2;
+            strength++;
+        }
+
+        return strength;
+    }
+
+    protected Duration measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String encodedPassword = encoder.encode(SAMPLE_PASSWORD);
+
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, encodedPassword);
+            fastest = Math.min(fastest, System.nanoTime() - startedAt);
+        }
+
+        return Duration.ofNanos(fastest);
+    }
+
+}
@@ -0,0 +1,129 @@
+package br.com.gabezy.todoapi.config.security;
+
+import br.com.gabezy.todoapi.config.properties.PasswordHashingProperties;
+import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import br.com.gabezy.todoapi.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the (deliberately slow) hashing of the delegate encoder on a fixed-size pool with a bounded queue, so a burst of
+ * logins cannot take every request thread. When the queue is full the call is rejected right away with
+ * {@link ServiceUnavailableException}, and so is a call whose hash doesn't finish within {@code max-wait}.
+ * <p>
+ * The request thread still waits for its hash, since the encoder API is synchronous. What protects the servlet pool
+ * is that at most {@code pool-size + queue-capacity} request threads wait at a time, each for at most
+ * {@code max-wait}, while every other call is refused without waiting. So both are kept small: the queue should
+ * drain within {@code max-wait} (about {@code pool-size * max-wait / target-latency} entries), or queued calls
+ * hold their thread for the whole wait only to time out.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+
+    private final OperationMetrics encodeMetrics;
+    private final OperationMetrics matchesMetrics;
+    private final Counter rejections;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWait = properties.getMaxWait();
+        this.retryAfter = properties.getRetryAfter();
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(), properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeMetrics = new OperationMetrics("encode", meterRegistry);
+        this.matchesMetrics = new OperationMetrics("matches", meterRegistry);
+        this.rejections = Counter.builder("password.hashing.rejected").register(meterRegistry);
+        meterRegistry.gauge("password.hashing.queue.size", executor, pool -> pool.getQueue().size());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeMetrics, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesMetrics, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(OperationMetrics metrics, Callable<T> hashing) {
+        long submittedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                metrics.queueWait().record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return hashing.call();
+                } finally {
+                    metrics.hashTime().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            throw saturated();
+        }
+
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw saturated();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private ServiceUnavailableException saturated() {
+        rejections.increment();
+        return new ServiceUnavailableException(ErrorCode.SERVER_BUSY, retryAfter);
+    }
+
+    private record OperationMetrics(Timer queueWait, Timer hashTime) {
+
+        OperationMetrics(String operation, MeterRegistry meterRegistry) {
+            this(Timer.builder("password.hashing.queue.wait").tag("operation", operation).register(meterRegistry),
+                    Timer.builder("password.hashing.duration").tag("operation", operation).register(meterRegistry));
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package br.com.gabezy.todoapi.config.security;
+
+import br.com.gabezy.todoapi.config.properties.JwtProperties;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Signing keys selected by the token's {@code kid} header. New tokens are always signed with the active key,
+ * while tokens signed with a retiring key stay valid until they expire, so rotating the secret doesn't log everyone out.
+ * Tokens issued before key ids existed carry no {@code kid} and are checked against every key, active first.
+ */
+@Component
+public class JwtKeyRing {
+
+    private final SigningKey activeKey;
+    private final Map<String, SigningKey> keysById;
+    private final List<SigningKey> keys;
+
+    public JwtKeyRing(JwtProperties properties) {
+        this.activeKey = buildKey(properties.getJwtKeyId(), properties.getJwtSecret(), properties.getJwtIssuer());
+
+        Map<String, SigningKey> ring = new LinkedHashMap<>();
+        ring.put(activeKey.keyId(), activeKey);
+        properties.getJwtRetiringKeys().forEach((keyId, secret) ->
+                ring.putIfAbsent(keyId, buildKey(keyId, secret, properties.getJwtIssuer())));
+
+        this.keysById = Collections.unmodifiableMap(ring);
+        this.keys = List.copyOf(ring.values());
+    }
+
+    public SigningKey getActiveKey() {
+        return activeKey;
+    }
+
+    public DecodedJWT verify(String token) {
+        DecodedJWT decodedJWT = JWT.decode(token);
+        String keyId = decodedJWT.getKeyId();
+
+        if (Objects.nonNull(keyId)) {
+            SigningKey signingKey = keysById.get(keyId);
+            if (Objects.isNull(signingKey)) {
+                throw new JWTVerificationException("Unknown signing key");
+            }
+            return signingKey.verifier().verify(decodedJWT);
+        }
+
+        return verifyWithoutKeyId(decodedJWT);
+    }
+
+    private DecodedJWT verifyWithoutKeyId(DecodedJWT decodedJWT) {
+        JWTVerificationException firstFailure = null;
+        for (SigningKey signingKey : keys) {
+            try {
+                return signingKey.verifier().verify(decodedJWT);
+            } catch (JWTVerificationException ex) {
+                firstFailure = Objects.requireNonNullElse(firstFailure, ex);
+            }
+        }
+        throw firstFailure;
+    }
+
+    private static SigningKey buildKey(String keyId, String secret, String issuer) {
+        Algorithm algorithm = Algorithm.HMAC256(secret);
+        JWTVerifier verifier = JWT.require(algorithm)
+                .withIssuer(issuer)
+                .build();
+        return new SigningKey(keyId, algorithm, verifier);
+    }
+
+    public record SigningKey(
+            String keyId,
+            Algorithm algorithm,
+            JWTVerifier verifier
+    ) {
+    }
+
+}
@@ -0,0 +1,170 @@
+package br.com.gabezy.todoapi.config.security;
+
+import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import br.com.gabezy.todoapi.exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for login attempts, one per email and one per client address. Buckets are updated with a CAS on an
+ * immutable state, so concurrent attempts never block each other; the maps holding them are bounded and forget idle
+ * keys. An attempt must get a token from both buckets, otherwise it is rejected before any credential check is done;
+ * an attempt the email bucket rejects gives its address token back, and a successful login gives both back.
+ * <p>
+ * The client address is the one the servlet request reports, which behind a proxy is resolved from its forwarded
+ * headers ({@code server.forward-headers-strategy}).
+ */
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final LongSupplier nanoClock;
+    private final Limit emailLimit;
+    private final Limit addressLimit;
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final Cache<String, TokenBucket> addressBuckets;
+    private final Counter emailRejections;
+    private final Counter addressRejections;
+
+    @Autowired
+    public LoginThrottle(@Value("${todo-api.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${todo-api.login-throttle.email.capacity:5}") int emailCapacity,
+                         @Value("${todo-api.login-throttle.email.refill-period:1m}") Duration emailRefillPeriod,
+                         @Value("${todo-api.login-throttle.address.capacity:20}") int addressCapacity,
+                         @Value("${todo-api.login-throttle.address.refill-period:1m}") Duration addressRefillPeriod,
+                         @Value("${todo-api.login-throttle.maximum-size:100000}") long maximumSize,
+                         MeterRegistry meterRegistry) {
+        this(enabled, new Limit(emailCapacity, emailRefillPeriod), new Limit(addressCapacity, addressRefillPeriod),
+                maximumSize, meterRegistry, System::nanoTime);
+    }
+
+    LoginThrottle(boolean enabled, Limit emailLimit, Limit addressLimit, long maximumSize,
+                  MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.nanoClock = nanoClock;
+        this.emailLimit = emailLimit;
+        this.addressLimit = addressLimit;
+        this.emailBuckets = buildBuckets(emailLimit, maximumSize, nanoClock);
+        this.addressBuckets = buildBuckets(addressLimit, maximumSize, nanoClock);
+        this.emailRejections = Counter.builder("login.throttle.rejected").tag("key", "email").register(meterRegistry);
+        this.addressRejections = Counter.builder("login.throttle.rejected").tag("key", "address").register(meterRegistry);
+    }
+
+    public void acquire(String email, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+
+        TokenBucket addressBucket = null;
+        if (Objects.nonNull(clientAddress)) {
+            addressBucket = addressBuckets.get(clientAddress, key -> new TokenBucket(addressLimit, now));
+            long addressWait = addressBucket.tryAcquire(now);
+            if (addressWait > 0) {
+                addressRejections.increment();
+                throw new TooManyRequestsException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS, Duration.ofNanos(addressWait));
+            }
+        }
+
+        String emailKey = email.toLowerCase(Locale.ROOT);
+        long emailWait = emailBuckets.get(emailKey, key -> new TokenBucket(emailLimit, now)).tryAcquire(now);
+        if (emailWait > 0) {
+            // otherwise attempts on a locked email would drain the budget of everyone behind the same address
+            if (Objects.nonNull(addressBucket)) {
+                addressBucket.refund();
+            }
+            emailRejections.increment();
+            throw new TooManyRequestsException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS, Duration.ofNanos(emailWait));
+        }
+    }
+
+    /**
+     * Gives back the tokens taken by {@link #acquire(String, String)} for an attempt that succeeded, so only failed
+     * attempts count against the limits.
+     */
+    public void refund(String email, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+
+        if (Objects.nonNull(clientAddress)) {
+            refund(addressBuckets.getIfPresent(clientAddress));
+        }
+        refund(emailBuckets.getIfPresent(email.toLowerCase(Locale.ROOT)));
+    }
+
+    private static void refund(TokenBucket bucket) {
+        if (Objects.nonNull(bucket)) {
+            bucket.refund();
+        }
+    }
+
+    private static Cache<String, TokenBucket> buildBuckets(Limit limit, long maximumSize, LongSupplier nanoClock) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(limit.refillPeriod())
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    record Limit(int capacity, Duration refillPeriod) {
+
+        double nanosPerToken() {
+            return (double) refillPeriod.toNanos() / capacity;
+        }
+    }
+
+    static final class TokenBucket {
+
+        private final Limit limit;
+        private final AtomicReference<State> state;
+
+        TokenBucket(Limit limit, long now) {
+            this.limit = limit;
+            this.state = new AtomicReference<>(new State(limit.capacity(), now));
+        }
+
+        /**
+         * @return 0 when a token was taken, otherwise the nanoseconds until the next token is available
+         */
+        long tryAcquire(long now) {
+            double nanosPerToken = limit.nanosPerToken();
+            while (true) {
+                State current = state.get();
+                double elapsedTokens = Math.max(0L, now - current.refilledAt()) / nanosPerToken;
+                double tokens = Math.min(limit.capacity(), current.tokens() + elapsedTokens);
+
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) * nanosPerToken);
+                }
+
+                if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.refilledAt())))) {
+                    return 0L;
+                }
+            }
+        }
+
+        /**
+         * Gives back a token taken by {@link #tryAcquire(long)} for an attempt that was rejected anyway or succeeded.
+         */
+        void refund() {
+            state.updateAndGet(current -> new State(Math.min(limit.capacity(), current.tokens() + 1), current.refilledAt()));
+        }
+
+        private record State(double tokens, long refilledAt) {
+        }
+    }
+
+}
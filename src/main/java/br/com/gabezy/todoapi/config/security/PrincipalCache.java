@@ -0,0 +1,47 @@
+package br.com.gabezy.todoapi.config.security;
+
+import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Ready-made principals keyed by email, so authenticated requests don't load the user and its roles every time.
+ * Entries must be invalidated whenever the user's email, password or roles change, or the user is removed.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetailsImpl> cache;
+
+    public PrincipalCache(@Value("${todo-api.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${todo-api.principal-cache.time-to-live:5m}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetailsImpl get(String email, Function<String, UserDetailsImpl> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void put(UserDetailsImpl userDetails) {
+        cache.put(userDetails.getUsername(), userDetails);
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+}
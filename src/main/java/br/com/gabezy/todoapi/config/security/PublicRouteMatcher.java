@@ -0,0 +1,112 @@
+package br.com.gabezy.todoapi.config.security;
+
+import br.com.gabezy.todoapi.utils.EndpointUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * The public routes of {@link EndpointUtil} compiled once into a character trie, used both by the security chain and
+ * by {@link AuthenticationFilter} so the two can't disagree. A route is either exact ({@code /auth}) or a prefix
+ * ({@code /swagger-ui/**}, which also matches {@code /swagger-ui}). Matching walks the request URI in place and
+ * does not allocate.
+ */
+@Component
+public class PublicRouteMatcher implements RequestMatcher {
+
+    private static final int ANY_METHOD = -1;
+    private static final String PREFIX_SUFFIX = "/**";
+
+    private final Node root = new Node();
+
+    public PublicRouteMatcher() {
+        Arrays.stream(EndpointUtil.PUBLIC_ENDPOINTS).forEach(route -> register(route, ANY_METHOD));
+        Arrays.stream(EndpointUtil.PUBLIC_POST_ENDPOINTS).forEach(route -> register(route, methodBit("POST")));
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        int method = methodBit(request.getMethod());
+
+        Node node = root;
+        for (int i = contextPath.length(); i < uri.length(); i++) {
+            char current = uri.charAt(i);
+            if (current == '/' && (node.prefixMethods & method) != 0) {
+                return true;
+            }
+
+            node = node.child(current);
+            if (node == null) {
+                return false;
+            }
+        }
+
+        return ((node.exactMethods | node.prefixMethods) & method) != 0;
+    }
+
+    private void register(String route, int methods) {
+        boolean prefix = route.endsWith(PREFIX_SUFFIX);
+        String path = prefix ? route.substring(0, route.length() - PREFIX_SUFFIX.length()) : route;
+
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.childOrCreate(path.charAt(i));
+        }
+
+        if (prefix) {
+            node.prefixMethods |= methods;
+        } else {
+            node.exactMethods |= methods;
+        }
+    }
+
+    private static int methodBit(String method) {
+        return switch (method) {
+            case "GET" -> 1;
+            case "HEAD" -> 1 << 1;
+            case "POST" -> 1 << 2;
+            case "PUT" -> 1 << 3;
+            case "PATCH" -> 1 << 4;
+            case "DELETE" -> 1 << 5;
+            case "OPTIONS" -> 1 << 6;
+            case "TRACE" -> 1 << 7;
+            default -> 1 << 31;
+        };
+    }
+
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int exactMethods;
+        private int prefixMethods;
+
+        private Node child(char label) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char label) {
+            Node existing = child(label);
+            if (existing != null) {
+                return existing;
+            }
+
+            Node created = new Node();
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            labels[labels.length - 1] = label;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+
+}
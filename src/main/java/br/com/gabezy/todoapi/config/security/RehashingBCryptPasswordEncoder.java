@@ -0,0 +1,43 @@
+package br.com.gabezy.todoapi.config.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Objects;
+
+/**
+ * Flags stored hashes weaker than the configured cost for upgrade, like {@link BCryptPasswordEncoder}, but treats a
+ * value that is not a BCrypt hash as not upgradable instead of failing. Stronger hashes are kept: the cost is
+ * calibrated per host, so rehashing in both directions would make hashes flip between the costs of a mixed fleet.
+ */
+public class RehashingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public RehashingBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (Objects.isNull(encodedPassword) || encodedPassword.isEmpty()) {
+            return false;
+        }
+
+        String[] parts = encodedPassword.split("\\$");
+        if (parts.length < 4) {
+            return false;
+        }
+
+        try {
+            return Integer.parseInt(parts[2]) < strength;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+}
@@ -1,7 +1,9 @@
 package br.com.gabezy.todoapi.config.security;
 
+import br.com.gabezy.todoapi.config.properties.PasswordHashingProperties;
 import br.com.gabezy.todoapi.domain.enumaration.RoleName;
-import br.com.gabezy.todoapi.utils.EndpointUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,26 +13,31 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Objects;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final AuthenticationFilter authenticationFilter;
+    private final PublicRouteMatcher publicRouteMatcher;
 
-    public SecurityConfig(AuthenticationFilter authenticationFilter) {
+    public SecurityConfig(AuthenticationFilter authenticationFilter, PublicRouteMatcher publicRouteMatcher) {
         this.authenticationFilter = authenticationFilter;
+        this.publicRouteMatcher = publicRouteMatcher;
     }
 
     @Bean
@@ -42,9 +49,12 @@ public class SecurityConfig {
                         sessions.sessionCreationPolicy(STATELESS)
                 )
                 .authorizeHttpRequests(request ->
-                    request.requestMatchers(EndpointUtil.PUBLIC_ENDPOINTS).permitAll()
-                            .requestMatchers(HttpMethod.POST, EndpointUtil.PUBLIC_POST_ENDPOINTS).permitAll()
-                            .requestMatchers(HttpMethod.GET, "/users/{id}", "/users").hasAuthority(RoleName.ADMINISTRATOR.name())
+                    // the async dispatch finishing a streamed response was authorized on its way in
+                    request.requestMatchers(new AndRequestMatcher(new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                                    antMatcher(HttpMethod.GET, "/tasks/filter/stream"))).permitAll()
+                            .requestMatchers(publicRouteMatcher).permitAll()
+                            .requestMatchers(HttpMethod.GET, "/users/{id}", "/users", "/users/filter").hasAuthority(RoleName.ADMINISTRATOR.name())
+                            .requestMatchers(HttpMethod.POST, "/roles/refresh").hasAuthority(RoleName.ADMINISTRATOR.name())
                             .anyRequest().authenticated()
                 )
                 .addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class)
@@ -66,8 +76,13 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties, MeterRegistry meterRegistry) {
+        int strength = Objects.nonNull(passwordHashingProperties.getStrength())
+                ? passwordHashingProperties.getStrength()
+                : new BCryptCostCalibrator().calibrate(passwordHashingProperties.getTargetLatency(),
+                        passwordHashingProperties.getMinStrength(), passwordHashingProperties.getMaxStrength());
+
+        return new BoundedPasswordEncoder(new RehashingBCryptPasswordEncoder(strength), passwordHashingProperties, meterRegistry);
     }
 
 }
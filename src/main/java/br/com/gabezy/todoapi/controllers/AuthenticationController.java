@@ -2,6 +2,7 @@ package br.com.gabezy.todoapi.controllers;
 
 import br.com.gabezy.todoapi.config.expectionhandler.ResponseError;
 import br.com.gabezy.todoapi.domain.dto.LoginDTO;
+import br.com.gabezy.todoapi.domain.dto.RefreshTokenDTO;
 import br.com.gabezy.todoapi.domain.dto.TokenDTO;
 import br.com.gabezy.todoapi.services.AuthenticationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,7 +10,9 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -33,11 +36,37 @@ public class AuthenticationController {
     @Operation(summary = "Authenticate a user", description = "Authenticate a existing user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Authenticate successfully", content =@Content(schema = @Schema(implementation = TokenDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Bad Request", content =@Content(schema = @Schema(implementation = ResponseError.class)))
+            @ApiResponse(responseCode = "400", description = "Bad Request", content =@Content(schema = @Schema(implementation = ResponseError.class))),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts for the email or client address", content =@Content(schema = @Schema(implementation = ResponseError.class)))
     })
     @PostMapping(value = "", produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
-    public ResponseEntity<TokenDTO> authenticate(@Valid @RequestBody LoginDTO loginDTO) {
-        return ResponseEntity.ok(authenticationService.authenticate(loginDTO));
+    public ResponseEntity<TokenDTO> authenticate(@Valid @RequestBody LoginDTO loginDTO, HttpServletRequest request) {
+        return ResponseEntity.ok(authenticationService.authenticate(loginDTO, request.getRemoteAddr()));
+    }
+
+    @Operation(summary = "Refresh the authentication", description = "Exchange a refresh token for a new token pair. The refresh token can only be used once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Authentication successfully refreshed", content =@Content(schema = @Schema(implementation = TokenDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad Request", content =@Content(schema = @Schema(implementation = ResponseError.class))),
+            @ApiResponse(responseCode = "401", description = "Invalid, expired or already used refresh token")
+    })
+    @PostMapping(value = "/refresh", produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<TokenDTO> refresh(@Valid @RequestBody RefreshTokenDTO refreshTokenDTO) {
+        return ResponseEntity.ok(authenticationService.refresh(refreshTokenDTO));
+    }
+
+    @Operation(
+            summary = "Logout", description = "Revoke the current token and, when informed, the refresh token issued with it",
+            security = @SecurityRequirement(name = "bearer-key")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Logout successfully"),
+            @ApiResponse(responseCode = "401", description = "Missing, invalid or already revoked token")
+    })
+    @PostMapping(value = "/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody(required = false) RefreshTokenDTO refreshTokenDTO) {
+        authenticationService.logout(refreshTokenDTO);
+        return ResponseEntity.noContent().build();
     }
 
 }
@@ -0,0 +1,39 @@
+package br.com.gabezy.todoapi.controllers;
+
+import br.com.gabezy.todoapi.services.RoleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/roles")
+@Tag(name = "Role", description = "Operations relate to Roles")
+public class RoleController {
+
+    private final RoleService roleService;
+
+    public RoleController(RoleService roleService) {
+        this.roleService = roleService;
+    }
+
+    @Operation(
+            summary = "Refresh the roles", description = "Reload the in-memory role registry from the database",
+            security = @SecurityRequirement(name = "bearer-key")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Roles successfully refreshed"),
+            @ApiResponse(responseCode = "403", description = "The authenticated user is not an administrator")
+    })
+    @PostMapping(value = "/refresh")
+    public ResponseEntity<Void> refresh() {
+        roleService.refresh();
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -1,5 +1,8 @@
 package br.com.gabezy.todoapi.controllers;
 
+import br.com.gabezy.todoapi.config.expectionhandler.ResponseError;
+import br.com.gabezy.todoapi.domain.dto.CursorPageDTO;
+import br.com.gabezy.todoapi.domain.dto.TaskBulkDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskCompletedDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskDataDTO;
@@ -7,21 +10,33 @@ import br.com.gabezy.todoapi.domain.dto.TaskFilterDTO;
 import br.com.gabezy.todoapi.services.TaskService;
 import br.com.gabezy.todoapi.controllers.generics.GenericCrudController;
 import br.com.gabezy.todoapi.controllers.generics.GenericFilteredController;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @RestController
 @RequestMapping("/tasks")
@@ -29,10 +44,18 @@ import java.util.List;
 public class TaskController implements GenericCrudController<TaskDataDTO, Long, TaskDTO, TaskDTO>,
         GenericFilteredController<TaskFilterDTO, TaskDataDTO> {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int STREAM_FLUSH_ROWS = 100;
+
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper.copy()
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Override
@@ -47,14 +70,100 @@ public class TaskController implements GenericCrudController<TaskDataDTO, Long,
         return ResponseEntity.ok(taskService.findAll(pageable));
     }
 
+    @Override
+    public ResponseEntity<Slice<TaskDataDTO>> findAllSlice(Pageable pageable) {
+        return ResponseEntity.ok(taskService.findAllSlice(pageable));
+    }
+
+    @GetMapping(value = "", params = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Get tasks by cursor",
+            description = "Get the logged user's tasks after the given cursor. Send an empty cursor for the first page " +
+                    "and the returned nextCursor for the following ones; nextCursor is null on the last page",
+            security = @SecurityRequirement(name = "bearer-key")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks successfully retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(schema = @Schema(implementation = ResponseError.class)))
+    })
+    public ResponseEntity<CursorPageDTO<TaskDataDTO>> findAllByCursor(@RequestParam("cursor") String cursor,
+                                                                      @RequestParam(value = "size", defaultValue = "20") int size) {
+        int boundedSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        return ResponseEntity.ok(taskService.findAllByCursor(cursor, boundedSize));
+    }
+
     @Override
     public ResponseEntity<TaskDataDTO> findById(Long id) {
         return ResponseEntity.ok(taskService.findById(id));
     }
 
     @Override
-    public ResponseEntity<List<TaskDataDTO>> findByFilter(TaskFilterDTO filter) {
-        return ResponseEntity.ok(taskService.findByFilter(filter));
+    public ResponseEntity<Page<TaskDataDTO>> findByFilter(TaskFilterDTO filter, Pageable pageable) {
+        return ResponseEntity.ok(taskService.findByFilter(filter, pageable));
+    }
+
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Create tasks in bulk",
+            description = "Create up to " + TaskBulkDTO.MAX_TASKS + " tasks for the logged user at once, e.g. when " +
+                    "importing a list, and get their ids in the order they were sent",
+            security = @SecurityRequirement(name = "bearer-key")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Tasks successfully created"),
+            @ApiResponse(responseCode = "400", description = "Invalid fields in the request body",
+                    content = @Content(schema = @Schema(implementation = ResponseError.class)))
+    })
+    public ResponseEntity<List<Long>> createBulk(@Valid @RequestBody TaskBulkDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTasks(request.tasks()));
+    }
+
+    @GetMapping(value = "/filter/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream tasks by filter",
+            description = "Get every logged user's task matching the filter as newline delimited JSON, written as " +
+                    "the tasks are read, so large results don't need to be paged",
+            security = @SecurityRequirement(name = "bearer-key")
+    )
+    @ApiResponse(responseCode = "200", description = "Tasks successfully streamed")
+    public ResponseEntity<StreamingResponseBody> streamByFilter(@ParameterObject TaskFilterDTO filter) {
+        StreamingResponseBody body = output -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+                generator.setRootValueSeparator(null);
+                AtomicLong written = new AtomicLong();
+                taskService.streamByFilter(filter, task -> {
+                    try {
+                        objectMapper.writeValue(generator, task);
+                        generator.writeRaw('\n');
+                        // the generator writes rows out whenever its buffer fills; flushing every few rows as well keeps
+                        // a slowly read result reaching the client, without paying a flush per row
+                        if (written.incrementAndGet() % STREAM_FLUSH_ROWS == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Suggest task contents",
+            description = "Get the logged user's task contents with a word starting with the given prefix, " +
+                    "most frequent first. Meant for autocomplete, so it doesn't query the database on every keystroke",
+            security = @SecurityRequirement(name = "bearer-key")
+    )
+    @ApiResponse(responseCode = "200", description = "Suggestions successfully retrieved")
+    public ResponseEntity<List<String>> suggest(@RequestParam("prefix") String prefix,
+                                                @RequestParam(value = "size", defaultValue = "10") int size) {
+        int boundedSize = Math.min(Math.max(size, 1), MAX_SUGGESTIONS);
+        return ResponseEntity.ok(taskService.suggest(prefix, boundedSize));
     }
 
     @PatchMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
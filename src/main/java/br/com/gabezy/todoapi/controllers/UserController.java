@@ -1,14 +1,17 @@
 package br.com.gabezy.todoapi.controllers;
 
 import br.com.gabezy.todoapi.controllers.generics.GenericCrudController;
+import br.com.gabezy.todoapi.controllers.generics.GenericFilteredController;
 import br.com.gabezy.todoapi.domain.dto.CreateUserDTO;
 import br.com.gabezy.todoapi.domain.dto.UpdateUserDTO;
 import br.com.gabezy.todoapi.domain.dto.UserDTO;
+import br.com.gabezy.todoapi.domain.dto.UserFilterDTO;
 import br.com.gabezy.todoapi.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,7 +22,8 @@ import java.net.URI;
 @RestController
 @RequestMapping("/users")
 @Tag(name = "User", description = "Operations relate to Users")
-public class UserController implements GenericCrudController<UserDTO, Long, CreateUserDTO, UpdateUserDTO> {
+public class UserController implements GenericCrudController<UserDTO, Long, CreateUserDTO, UpdateUserDTO>,
+        GenericFilteredController<UserFilterDTO, UserDTO> {
 
     private final UserService userService;
 
@@ -42,6 +46,16 @@ public class UserController implements GenericCrudController<UserDTO, Long, Crea
         return ResponseEntity.ok(userService.findAll(pageable));
     }
 
+    @Override
+    public ResponseEntity<Slice<UserDTO>> findAllSlice(Pageable pageable) {
+        return ResponseEntity.ok(userService.findAllSlice(pageable));
+    }
+
+    @Override
+    public ResponseEntity<Page<UserDTO>> findByFilter(UserFilterDTO filter, Pageable pageable) {
+        return ResponseEntity.ok(userService.findByFilter(filter, pageable));
+    }
+
     @Override
     public ResponseEntity<UserDTO> findById(Long id) {
         return ResponseEntity.ok(userService.findById(id));
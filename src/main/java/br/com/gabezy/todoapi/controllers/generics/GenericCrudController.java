@@ -12,6 +12,7 @@ import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -43,6 +44,14 @@ public interface GenericCrudController<T, ID, C, U> {
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     ResponseEntity<Page<T>> findAll(@ParameterObject Pageable pageable);
 
+    @ApiResponse(responseCode = "200", description = "Successfully retrieve the resources slice")
+    @Operation(
+            summary = "Get resources slice", description = "Get a page of resources without the total count, only whether there is a next page",
+            security = @SecurityRequirement(name = "bearer-key")
+    )
+    @GetMapping(value = "/slice", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<Slice<T>> findAllSlice(@ParameterObject Pageable pageable);
+
     @Operation(
             summary = "Get resource by ID", description = "Get resource based on ID",
             security = @SecurityRequirement(name = "bearer-key")
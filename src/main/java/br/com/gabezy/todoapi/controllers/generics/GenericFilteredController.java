@@ -3,20 +3,21 @@ package br.com.gabezy.todoapi.controllers.generics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import java.util.List;
-
 public interface GenericFilteredController <F, T> {
 
     @GetMapping(value = "/filter", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
-            summary = "Get resource by filter", description = "Get list of resources based on filter",
+            summary = "Get resource by filter", description = "Get page of resources based on filter",
             security = @SecurityRequirement(name = "bearer-key")
     )
-    @ApiResponse(responseCode = "200", description = "Successfully retrieve all task")
-    public ResponseEntity<List<T>> findByFilter(F filter);
+    @ApiResponse(responseCode = "200", description = "Successfully retrieve the page of resources")
+    public ResponseEntity<Page<T>> findByFilter(@ParameterObject F filter, @ParameterObject Pageable pageable);
 
 }
@@ -0,0 +1,9 @@
+package br.com.gabezy.todoapi.domain.detail;
+
+public record TaskIndexDocument(
+        Long id,
+        Long userId,
+        String content,
+        Boolean completed
+) {
+}
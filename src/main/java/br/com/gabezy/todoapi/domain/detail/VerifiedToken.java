@@ -0,0 +1,20 @@
+package br.com.gabezy.todoapi.domain.detail;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+public record VerifiedToken(
+        String subject,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt,
+        Long userId,
+        List<String> roles
+) {
+
+    public boolean hasPrincipalClaims() {
+        return Objects.nonNull(userId) && Objects.nonNull(roles);
+    }
+
+}
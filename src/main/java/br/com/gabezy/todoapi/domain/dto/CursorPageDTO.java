@@ -0,0 +1,9 @@
+package br.com.gabezy.todoapi.domain.dto;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        List<T> content,
+        String nextCursor
+) {
+}
@@ -0,0 +1,9 @@
+package br.com.gabezy.todoapi.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenDTO(
+        @NotBlank
+        String refreshToken
+) {
+}
@@ -0,0 +1,21 @@
+package br.com.gabezy.todoapi.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(name = "TaskBulk")
+public record TaskBulkDTO(
+
+        @NotEmpty
+        @Size(max = TaskBulkDTO.MAX_TASKS)
+        @Schema(description = "Tasks to create, at most " + TaskBulkDTO.MAX_TASKS)
+        List<@Valid TaskDTO> tasks
+) {
+
+    public static final int MAX_TASKS = 10000;
+
+}
@@ -1,5 +1,6 @@
 package br.com.gabezy.todoapi.domain.dto;
 
+import br.com.gabezy.todoapi.domain.enumaration.TaskSearchMode;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(name = "TaskFilter")
@@ -9,6 +10,11 @@ public record TaskFilterDTO(
         String content,
 
         @Schema(description = "Task's completed status")
-        Boolean completed
+        Boolean completed,
+
+        @Schema(description = "How the content is searched. SUBSTRING (default) matches any part of the content; " +
+                "FULLTEXT matches whole words ordered by relevance and falls back to SUBSTRING for words shorter than 3 characters; " +
+                "INDEX searches the embedded search index, ordered by relevance")
+        TaskSearchMode mode
 ) {
 }
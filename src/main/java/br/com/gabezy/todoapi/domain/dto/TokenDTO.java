@@ -1,6 +1,7 @@
 package br.com.gabezy.todoapi.domain.dto;
 
 public record TokenDTO(
-        String token
+        String token,
+        String refreshToken
 ) {
 }
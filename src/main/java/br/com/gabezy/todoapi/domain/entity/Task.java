@@ -9,8 +9,11 @@ import java.io.Serializable;
 @Table(name = "tasks")
 public class Task implements Serializable {
 
+    // ids come in pooled blocks from a table instead of IDENTITY, so inserts can be sent in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_ids")
+    @TableGenerator(name = "task_ids", table = "id_generators", pkColumnName = "NAME", valueColumnName = "NEXT_VAL",
+            pkColumnValue = "tasks", allocationSize = 500)
     @Column(nullable = false, name = "IDT_TASK")
     private Long id;
 
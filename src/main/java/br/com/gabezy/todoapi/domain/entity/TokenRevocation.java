@@ -0,0 +1,45 @@
+package br.com.gabezy.todoapi.domain.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "token_revocations")
+public class TokenRevocation implements Serializable {
+
+    @Id
+    @Column(nullable = false, name = "REVOCATION_KEY", length = 300)
+    private String revocationKey;
+
+    @Column(name = "NOT_BEFORE")
+    private OffsetDateTime notBefore;
+
+    @Column(nullable = false, name = "EXPIRES_AT")
+    private OffsetDateTime expiresAt;
+
+    public String getRevocationKey() {
+        return revocationKey;
+    }
+
+    public void setRevocationKey(String revocationKey) {
+        this.revocationKey = revocationKey;
+    }
+
+    public OffsetDateTime getNotBefore() {
+        return notBefore;
+    }
+
+    public void setNotBefore(OffsetDateTime notBefore) {
+        this.notBefore = notBefore;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(OffsetDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.gabezy.todoapi.domain.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.time.OffsetDateTime;
@@ -27,7 +28,9 @@ public class User implements Serializable {
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     private List<Task> tasks;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.MERGE)
+    // roles are reference data handed out detached by RoleService, so they are attached by id and never merged
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(name = "user_role",
             joinColumns = @JoinColumn(name = "IDT_USER"),
             inverseJoinColumns = @JoinColumn(name = "IDT_ROLE"))
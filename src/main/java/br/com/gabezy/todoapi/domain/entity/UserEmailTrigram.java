@@ -0,0 +1,92 @@
+package br.com.gabezy.todoapi.domain.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Entity
+@Table(name = "user_email_trigrams")
+@IdClass(UserEmailTrigram.Key.class)
+public class UserEmailTrigram implements Persistable<UserEmailTrigram.Key> {
+
+    @Id
+    @Column(nullable = false, name = "TRIGRAM", length = 3)
+    private String trigram;
+
+    @Id
+    @Column(nullable = false, name = "IDT_USER")
+    private Long userId;
+
+    // rows are only ever inserted or deleted, so saving one must not SELECT it first to tell insert from update
+    @Transient
+    private boolean isNew = true;
+
+    public UserEmailTrigram() {
+    }
+
+    public UserEmailTrigram(String trigram, Long userId) {
+        this.trigram = trigram;
+        this.userId = userId;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(trigram, userId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getTrigram() {
+        return trigram;
+    }
+
+    public void setTrigram(String trigram) {
+        this.trigram = trigram;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public static class Key implements Serializable {
+
+        private String trigram;
+        private Long userId;
+
+        public Key() {
+        }
+
+        public Key(String trigram, Long userId) {
+            this.trigram = trigram;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(trigram, key.trigram) && Objects.equals(userId, key.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(trigram, userId);
+        }
+    }
+
+}
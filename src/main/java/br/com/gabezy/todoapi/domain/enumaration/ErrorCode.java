@@ -9,8 +9,11 @@ public enum ErrorCode {
     ROLE_NOT_FOUND("Role not found"),
     MISSING_TOKEN("Authorization Token is missing"),
     INVALID_FIELDS("The request body has invalid fields"),
+    INVALID_CURSOR("The pagination cursor is invalid"),
     USER_NOT_AUTHENTICATED("User not authenticated"),
     USER_NOT_AUTHORIZED("User not authorized"),
+    TOO_MANY_LOGIN_ATTEMPTS("Too many login attempts. Please try again later."),
+    SERVER_BUSY("Server is busy. Please try again later."),
     INTERNAL_ERROR_SERVER("Unexpected error has occurred. Please try again later.");
 
     private final String message;
@@ -0,0 +1,7 @@
+package br.com.gabezy.todoapi.domain.enumaration;
+
+public enum TaskSearchMode {
+    SUBSTRING,
+    FULLTEXT,
+    INDEX
+}
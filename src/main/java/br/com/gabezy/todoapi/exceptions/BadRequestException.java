@@ -0,0 +1,11 @@
+package br.com.gabezy.todoapi.exceptions;
+
+import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(ErrorCode errorCode) {
+        super(errorCode.getMessage());
+    }
+
+}
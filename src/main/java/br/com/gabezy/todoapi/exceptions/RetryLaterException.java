@@ -0,0 +1,30 @@
+package br.com.gabezy.todoapi.exceptions;
+
+import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * A request refused for now, answered with its status and a {@code Retry-After} header.
+ */
+public abstract class RetryLaterException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    protected RetryLaterException(ErrorCode errorCode, HttpStatus status, Duration retryAfter) {
+        super(errorCode.getMessage());
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1L, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+}
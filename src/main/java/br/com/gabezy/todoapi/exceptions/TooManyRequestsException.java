@@ -0,0 +1,14 @@
+package br.com.gabezy.todoapi.exceptions;
+
+import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+public class TooManyRequestsException extends RetryLaterException {
+
+    public TooManyRequestsException(ErrorCode errorCode, Duration retryAfter) {
+        super(errorCode, HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+    }
+
+}
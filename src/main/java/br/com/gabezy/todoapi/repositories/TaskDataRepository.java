@@ -0,0 +1,27 @@
+package br.com.gabezy.todoapi.repositories;
+
+import br.com.gabezy.todoapi.domain.dto.TaskDataDTO;
+import br.com.gabezy.todoapi.domain.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+/**
+ * Filter queries read straight into {@link TaskDataDTO} projections, so no task entity is hydrated or kept in the
+ * persistence context. The returned streams must be closed, inside a transaction.
+ */
+public interface TaskDataRepository {
+
+    Page<TaskDataDTO> findByFilters(String content, Boolean completed, User user, Pageable pageable);
+
+    /**
+     * @param pageable page position only, the results are ordered by relevance
+     */
+    Page<TaskDataDTO> findByFullTextContent(String content, Boolean completed, Long userId, Pageable pageable);
+
+    Stream<TaskDataDTO> streamByFilters(String content, Boolean completed, User user);
+
+    Stream<TaskDataDTO> streamByFullTextContent(String content, Boolean completed, Long userId);
+
+}
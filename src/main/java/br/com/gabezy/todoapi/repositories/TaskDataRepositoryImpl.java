@@ -0,0 +1,134 @@
+package br.com.gabezy.todoapi.repositories;
+
+import br.com.gabezy.todoapi.domain.dto.TaskDataDTO;
+import br.com.gabezy.todoapi.domain.entity.Task;
+import br.com.gabezy.todoapi.domain.entity.User;
+import br.com.gabezy.todoapi.repositories.specifications.TaskSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+class TaskDataRepositoryImpl implements TaskDataRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String FULLTEXT_SELECT = "SELECT t.IDT_TASK AS id, t.CONTENT AS content, t.COMPLETED AS completed ";
+
+    private static final String FULLTEXT_COUNT = "SELECT COUNT(*) ";
+
+    private static final String FULLTEXT_FROM = "FROM tasks t " +
+            "WHERE t.IDT_USER = :userId " +
+            "AND MATCH(t.CONTENT) AGAINST(:content IN NATURAL LANGUAGE MODE) ";
+
+    private static final String FULLTEXT_COMPLETED = "AND t.COMPLETED = :completed ";
+
+    private static final String FULLTEXT_ORDER = "ORDER BY MATCH(t.CONTENT) AGAINST(:content IN NATURAL LANGUAGE MODE) DESC, " +
+            "t.IDT_TASK";
+
+    private final EntityManager entityManager;
+
+    TaskDataRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<TaskDataDTO> findByFilters(String content, Boolean completed, User user, Pageable pageable) {
+        Specification<Task> specification = TaskSpecifications.byFilters(content, completed, user);
+
+        TypedQuery<TaskDataDTO> query = entityManager.createQuery(byFilters(specification, pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(specification));
+    }
+
+    @Override
+    public Page<TaskDataDTO> findByFullTextContent(String content, Boolean completed, Long userId, Pageable pageable) {
+        Query query = fullTextQuery(FULLTEXT_SELECT, FULLTEXT_ORDER, Tuple.class, content, completed, userId);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+
+        List<TaskDataDTO> tasks = ((List<?>) query.getResultList()).stream()
+                .map(Tuple.class::cast)
+                .map(TaskDataRepositoryImpl::toTaskData)
+                .toList();
+
+        return PageableExecutionUtils.getPage(tasks, pageable, () -> ((Number) fullTextQuery(
+                FULLTEXT_COUNT, "", Long.class, content, completed, userId).getSingleResult()).longValue());
+    }
+
+    @Override
+    public Stream<TaskDataDTO> streamByFilters(String content, Boolean completed, User user) {
+        return entityManager.createQuery(byFilters(TaskSpecifications.byFilters(content, completed, user), Sort.by("id")))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<TaskDataDTO> streamByFullTextContent(String content, Boolean completed, Long userId) {
+        Stream<?> rows = fullTextQuery(FULLTEXT_SELECT, FULLTEXT_ORDER, Tuple.class, content, completed, userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream();
+
+        return rows.map(Tuple.class::cast)
+                .map(TaskDataRepositoryImpl::toTaskData);
+    }
+
+    private CriteriaQuery<TaskDataDTO> byFilters(Specification<Task> specification, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDataDTO> query = builder.createQuery(TaskDataDTO.class);
+        Root<Task> root = query.from(Task.class);
+
+        return query.select(builder.construct(TaskDataDTO.class, root.get("id"), root.get("content"), root.get("completed")))
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(QueryUtils.toOrders(sort, root, builder));
+    }
+
+    private long count(Specification<Task> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+
+        query.select(builder.count(root))
+                .where(specification.toPredicate(root, query, builder));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Like the {@link Specification} path, the SQL only carries the {@code completed} predicate when it is supplied.
+     */
+    private Query fullTextQuery(String select, String order, Class<?> resultClass, String content, Boolean completed,
+                                Long userId) {
+        String where = Objects.isNull(completed) ? FULLTEXT_FROM : FULLTEXT_FROM + FULLTEXT_COMPLETED;
+        Query query = entityManager.createNativeQuery(select + where + order, resultClass)
+                .setParameter("content", content)
+                .setParameter("userId", userId);
+        if (Objects.nonNull(completed)) {
+            query.setParameter("completed", completed);
+        }
+        return query;
+    }
+
+    private static TaskDataDTO toTaskData(Tuple row) {
+        return new TaskDataDTO(row.get("id", Number.class).longValue(), row.get("content", String.class),
+                row.get("completed", Boolean.class));
+    }
+
+}
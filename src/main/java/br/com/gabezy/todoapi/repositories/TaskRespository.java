@@ -1,26 +1,63 @@
 package br.com.gabezy.todoapi.repositories;
 
+import br.com.gabezy.todoapi.domain.detail.TaskIndexDocument;
+import br.com.gabezy.todoapi.domain.dto.TaskDataDTO;
 import br.com.gabezy.todoapi.domain.entity.Task;
 import br.com.gabezy.todoapi.domain.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRespository extends JpaRepository<Task, Long> {
+/**
+ * Read queries return {@link TaskDataDTO} projections, leaving the entity queries for the writes.
+ */
+public interface TaskRespository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskDataRepository {
 
-    Optional<Task> findByIdAndUser(Long id, User user);
+    Optional<TaskDataDTO> findDataByIdAndUser(Long id, User user);
 
-    Page<Task> findAllByUser(User user, Pageable pageable);
+    List<TaskDataDTO> findDataByIdIn(Collection<Long> ids);
 
-    @Query("SELECT t FROM Task t " +
-            "JOIN t.user u " +
-            "WHERE (:content IS NULL OR LOWER(t.content) LIKE CONCAT('%', LOWER(:content), '%')) " +
-            "AND (:completed IS NULL or t.completed = :completed) " +
-            "AND t.user = :user"
-    )
-    List<Task> findByFilters(String content, Boolean completed, User user);
+    Page<TaskDataDTO> findAllByUser(User user, Pageable pageable);
+
+    Slice<TaskDataDTO> findSliceByUser(User user, Pageable pageable);
+
+    List<TaskDataDTO> findByUserOrderByIdAsc(User user, Limit limit);
+
+    List<TaskDataDTO> findByUserAndIdGreaterThanOrderByIdAsc(User user, Long id, Limit limit);
+
+    List<TaskDataDTO> findDataByUserId(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Task t SET t.content = :content, t.completed = :completed WHERE t.id = :id AND t.user = :user")
+    int updateByIdAndUser(Long id, User user, String content, Boolean completed);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Task t SET t.completed = :completed WHERE t.id = :id AND t.user = :user")
+    int updateCompletedByIdAndUser(Long id, User user, Boolean completed);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.user = :user")
+    int deleteByIdAndUser(Long id, User user);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.com.gabezy.todoapi.domain.detail.TaskIndexDocument(t.id, t.user.id, t.content, t.completed) " +
+            "FROM Task t")
+    Stream<TaskIndexDocument> streamAllForIndex();
 }
@@ -0,0 +1,22 @@
+package br.com.gabezy.todoapi.repositories;
+
+import br.com.gabezy.todoapi.domain.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+
+    @Query("SELECT r.revocationKey FROM TokenRevocation r WHERE r.expiresAt >= :now")
+    List<String> findActiveKeys(OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :now")
+    int deleteExpired(OffsetDateTime now);
+
+}
@@ -0,0 +1,16 @@
+package br.com.gabezy.todoapi.repositories;
+
+import br.com.gabezy.todoapi.domain.entity.UserEmailTrigram;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface UserEmailTrigramRepository extends JpaRepository<UserEmailTrigram, UserEmailTrigram.Key> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserEmailTrigram t WHERE t.userId = :userId")
+    int deleteByUserId(Long userId);
+
+}
@@ -2,21 +2,47 @@ package br.com.gabezy.todoapi.repositories;
 
 import br.com.gabezy.todoapi.domain.entity.User;
 import br.com.gabezy.todoapi.domain.enumaration.RoleName;
+import br.com.gabezy.todoapi.repositories.specifications.SpecificationBuilder;
+import br.com.gabezy.todoapi.repositories.specifications.UserSpecifications;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRespository extends JpaRepository<User, Long> {
+public interface UserRespository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findById(Long id);
+
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
 
-    @Query("SELECT u FROM User u " +
-            "JOIN u.roles r " +
-            "WHERE (:email IS NULL OR LOWER(u.email) LIKE CONCAT('%', LOWER(:email), '%')) " +
-            "AND (:roleName IS NULL OR r.name = :roleName)"
-    )
-    List<User> findByEmailContainingAndRoleName(String email, RoleName roleName);
+    @Query("SELECT u.id FROM User u")
+    Page<Long> findIdsBy(Pageable pageable);
+
+    @Query("SELECT u.id FROM User u")
+    Slice<Long> findIdSliceBy(Pageable pageable);
+
+    /**
+     * Second half of a paged listing: the users of a page of ids with their roles, in one statement and in no
+     * particular order.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN :ids")
+    List<User> findWithRolesByIdIn(Collection<Long> ids);
+
+    default Page<User> findByEmailContainingAndRoleName(String email, RoleName roleName, Pageable pageable) {
+        return findAll(SpecificationBuilder.<User>unrestricted()
+                .and(email, UserSpecifications::emailContains)
+                .and(roleName, UserSpecifications::hasRole)
+                .build(), pageable);
+    }
 
 }
@@ -0,0 +1,46 @@
+package br.com.gabezy.todoapi.repositories.specifications;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Combines only the predicates whose filter value was supplied, so each filter shape compiles to its own
+ * statement instead of one generic {@code (:x IS NULL OR ...)} query that the database can't plan well.
+ * With {@code hibernate.criteria.plan_cache_enabled} Hibernate caches the compiled query per shape.
+ */
+public class SpecificationBuilder<T> {
+
+    private Specification<T> specification;
+
+    private SpecificationBuilder(Specification<T> specification) {
+        this.specification = specification;
+    }
+
+    public static <T> SpecificationBuilder<T> where(Specification<T> specification) {
+        return new SpecificationBuilder<>(specification);
+    }
+
+    public static <T> SpecificationBuilder<T> unrestricted() {
+        return new SpecificationBuilder<>(null);
+    }
+
+    /**
+     * Adds the predicate built from the value, unless the value is null or an empty string.
+     */
+    public <V> SpecificationBuilder<T> and(V value, Function<V, Specification<T>> predicate) {
+        if (Objects.isNull(value) || (value instanceof String text && text.isEmpty())) {
+            return this;
+        }
+
+        Specification<T> next = predicate.apply(value);
+        specification = Objects.isNull(specification) ? next : specification.and(next);
+        return this;
+    }
+
+    public Specification<T> build() {
+        return Objects.isNull(specification) ? Specification.where(null) : specification;
+    }
+
+}
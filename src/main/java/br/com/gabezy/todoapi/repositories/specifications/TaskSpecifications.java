@@ -0,0 +1,34 @@
+package br.com.gabezy.todoapi.repositories.specifications;
+
+import br.com.gabezy.todoapi.domain.entity.Task;
+import br.com.gabezy.todoapi.domain.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> byFilters(String content, Boolean completed, User user) {
+        return SpecificationBuilder.where(ownedBy(user))
+                .and(content, TaskSpecifications::contentContains)
+                .and(completed, TaskSpecifications::completedIs)
+                .build();
+    }
+
+    public static Specification<Task> ownedBy(User user) {
+        return (root, query, builder) -> builder.equal(root.get("user"), user);
+    }
+
+    public static Specification<Task> contentContains(String content) {
+        return (root, query, builder) ->
+                builder.like(builder.lower(root.get("content")), "%" + content.toLowerCase(Locale.ROOT) + "%");
+    }
+
+    public static Specification<Task> completedIs(Boolean completed) {
+        return (root, query, builder) -> builder.equal(root.get("completed"), completed);
+    }
+
+}
@@ -0,0 +1,60 @@
+package br.com.gabezy.todoapi.repositories.specifications;
+
+import br.com.gabezy.todoapi.domain.entity.Role;
+import br.com.gabezy.todoapi.domain.entity.User;
+import br.com.gabezy.todoapi.domain.entity.UserEmailTrigram;
+import br.com.gabezy.todoapi.domain.enumaration.RoleName;
+import br.com.gabezy.todoapi.utils.Trigrams;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+import java.util.Set;
+
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Terms of at least {@value Trigrams#LENGTH} characters first narrow the users down to those whose email holds
+     * every trigram of the term, read from the {@code user_email_trigrams} primary key. The LIKE then only drops the
+     * candidates holding the trigrams out of order, and is all there is for shorter terms.
+     */
+    public static Specification<User> emailContains(String email) {
+        return (root, query, builder) -> {
+            Predicate contains = builder.like(builder.lower(root.get("email")),
+                    "%" + email.toLowerCase(Locale.ROOT) + "%");
+
+            Set<String> trigrams = Trigrams.of(email);
+            if (trigrams.isEmpty()) {
+                return contains;
+            }
+
+            Subquery<Long> candidates = query.subquery(Long.class);
+            Root<UserEmailTrigram> trigram = candidates.from(UserEmailTrigram.class);
+            candidates.select(trigram.get("userId"))
+                    .where(trigram.get("trigram").in(trigrams))
+                    .groupBy(trigram.get("userId"))
+                    .having(builder.equal(builder.countDistinct(trigram.get("trigram")), (long) trigrams.size()));
+            return builder.and(root.get("id").in(candidates), contains);
+        };
+    }
+
+    /**
+     * Checks the roles in a correlated EXISTS rather than joining them, so a user holding several roles still
+     * comes back once, and other filters don't pay for the join.
+     */
+    public static Specification<User> hasRole(RoleName roleName) {
+        return (root, query, builder) -> {
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Join<User, Role> roles = subquery.correlate(root).join("roles");
+            subquery.select(builder.literal(1)).where(builder.equal(roles.get("name"), roleName));
+            return builder.exists(subquery);
+        };
+    }
+
+}
@@ -1,33 +1,76 @@
 package br.com.gabezy.todoapi.services;
 
+import br.com.gabezy.todoapi.config.security.LoginThrottle;
+import br.com.gabezy.todoapi.config.security.PrincipalCache;
 import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
 import br.com.gabezy.todoapi.domain.dto.LoginDTO;
+import br.com.gabezy.todoapi.domain.dto.RefreshTokenDTO;
 import br.com.gabezy.todoapi.domain.dto.TokenDTO;
+import br.com.gabezy.todoapi.domain.entity.User;
+import br.com.gabezy.todoapi.utils.AuthenticationUtil;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.util.Objects;
+
 @Service
 public class AuthenticationService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenService jwtTokenService;
+    private final PrincipalCache principalCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
 
-    public AuthenticationService(AuthenticationManager authenticationManager, JwtTokenService jwtTokenService) {
+    public AuthenticationService(AuthenticationManager authenticationManager, JwtTokenService jwtTokenService,
+                                 PrincipalCache principalCache, RefreshTokenService refreshTokenService,
+                                 TokenRevocationService tokenRevocationService, LoginThrottle loginThrottle) {
         this.authenticationManager = authenticationManager;
         this.jwtTokenService = jwtTokenService;
+        this.principalCache = principalCache;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.loginThrottle = loginThrottle;
     }
 
-    public TokenDTO authenticate(LoginDTO dto) {
+    public TokenDTO authenticate(LoginDTO dto, String clientAddress) {
+        loginThrottle.acquire(dto.email(), clientAddress);
+
         var usernameAndPasswordAuth = new UsernamePasswordAuthenticationToken(dto.email(), dto.password());
 
         Authentication auth = authenticationManager.authenticate(usernameAndPasswordAuth);
+        loginThrottle.refund(dto.email(), clientAddress);
+
+        UserDetailsImpl userDetails = (UserDetailsImpl) auth.getPrincipal();
+        principalCache.put(userDetails);
+
+        return issueTokens(userDetails);
+    }
+
+    public TokenDTO refresh(RefreshTokenDTO dto) {
+        User user = refreshTokenService.consume(dto.refreshToken());
 
-        UserDetails userDetails = (UserDetailsImpl) auth.getPrincipal();
+        UserDetailsImpl userDetails = new UserDetailsImpl(user);
+        principalCache.put(userDetails);
+
+        return issueTokens(userDetails);
+    }
+
+    public void logout(RefreshTokenDTO dto) {
+        tokenRevocationService.revokeToken(AuthenticationUtil.getCurrentToken());
+
+        if (Objects.nonNull(dto)) {
+            refreshTokenService.revoke(dto.refreshToken());
+        }
+    }
 
-        return new TokenDTO(jwtTokenService.generateToken(userDetails));
+    private TokenDTO issueTokens(UserDetailsImpl userDetails) {
+        String token = jwtTokenService.generateToken(userDetails);
+        String refreshToken = refreshTokenService.issue(userDetails.getUser());
+        return new TokenDTO(token, refreshToken);
     }
 
 }
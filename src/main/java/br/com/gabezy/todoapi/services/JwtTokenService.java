@@ -1,53 +1,94 @@
 package br.com.gabezy.todoapi.services;
 
+import br.com.gabezy.todoapi.config.properties.JwtProperties;
+import br.com.gabezy.todoapi.config.security.JwtKeyRing;
+import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
+import br.com.gabezy.todoapi.domain.detail.VerifiedToken;
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
-import org.springframework.beans.factory.annotation.Value;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 public class JwtTokenService {
 
-    @Value("${todo-api.jwt-secret}")
-    private String secret;
+    private final JwtKeyRing keyRing;
+    private final String issuer;
+    private final boolean claimsOnly;
 
-    @Value("${todo-api.jwt-issuer}")
-    private String issuer;
+    public static final Duration TOKEN_TIME_TO_LIVE = Duration.ofHours(4);
+
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+
+    public JwtTokenService(JwtKeyRing keyRing, JwtProperties properties) {
+        this.keyRing = keyRing;
+        this.issuer = properties.getJwtIssuer();
+        this.claimsOnly = properties.isJwtClaimsOnly();
+    }
 
     public String generateToken(UserDetails userDetails) {
         try {
-            return JWT.create()
+            JwtKeyRing.SigningKey signingKey = keyRing.getActiveKey();
+
+            JWTCreator.Builder builder = JWT.create()
+                    .withKeyId(signingKey.keyId())
+                    .withJWTId(UUID.randomUUID().toString())
                     .withIssuer(issuer)
                     .withIssuedAt(creationDate())
                     .withExpiresAt(expirationDate())
-                    .withSubject(userDetails.getUsername())
-                    .sign(getAlgorithm());
+                    .withSubject(userDetails.getUsername());
+
+            if (claimsOnly && userDetails instanceof UserDetailsImpl userDetailsImpl) {
+                builder.withClaim(USER_ID_CLAIM, userDetailsImpl.getUser().getId())
+                        .withClaim(ROLES_CLAIM, getRoleNames(userDetailsImpl));
+            }
+
+            return builder.sign(signingKey.algorithm());
         } catch (JWTCreationException ex) {
             throw new JWTCreationException("Error at token generation", ex);
         }
     }
 
     public String getSubjectFromToken(String token) {
+        return verifyToken(token).subject();
+    }
+
+    public VerifiedToken verifyToken(String token) {
         try {
-            return JWT.require(getAlgorithm())
-                    .withIssuer(issuer)
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decodedJWT = keyRing.verify(token);
+            return new VerifiedToken(
+                    decodedJWT.getSubject(),
+                    decodedJWT.getId(),
+                    decodedJWT.getIssuedAtAsInstant(),
+                    decodedJWT.getExpiresAtAsInstant(),
+                    decodedJWT.getClaim(USER_ID_CLAIM).asLong(),
+                    decodedJWT.getClaim(ROLES_CLAIM).asList(String.class)
+            );
         } catch (JWTVerificationException ex) {
             throw new JWTVerificationException("Invalid or expired token", ex);
         }
     }
 
-    private Algorithm getAlgorithm() {
-        return Algorithm.HMAC256(secret);
+    public boolean isClaimsOnly() {
+        return claimsOnly;
+    }
+
+    private List<String> getRoleNames(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
     }
 
     private Instant creationDate() {
@@ -55,7 +96,7 @@ public class JwtTokenService {
     }
 
     private Instant expirationDate() {
-        return ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")).plusHours(4).toInstant();
+        return ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")).plus(TOKEN_TIME_TO_LIVE).toInstant();
     }
 
 }
@@ -0,0 +1,88 @@
+package br.com.gabezy.todoapi.services;
+
+import br.com.gabezy.todoapi.domain.entity.RefreshToken;
+import br.com.gabezy.todoapi.domain.entity.User;
+import br.com.gabezy.todoapi.repositories.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository repository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${todo-api.refresh-token.time-to-live:14d}")
+    private Duration timeToLive;
+
+    public RefreshTokenService(RefreshTokenRepository repository) {
+        this.repository = repository;
+    }
+
+    public String issue(User user) {
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(tokenBytes);
+        String token = ENCODER.encodeToString(tokenBytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(OffsetDateTime.now().plus(timeToLive));
+        repository.save(refreshToken);
+
+        return token;
+    }
+
+    /**
+     * Consumes a refresh token and returns its owner. Each token is single-use: the row is deleted here and
+     * a concurrent or repeated use of the same token is rejected.
+     */
+    public User consume(String token) {
+        String tokenHash = hash(token);
+
+        RefreshToken refreshToken = repository.findByTokenHash(tokenHash)
+                .orElseThrow(RefreshTokenService::invalidRefreshToken);
+
+        if (repository.deleteByTokenHash(tokenHash) == 0 || refreshToken.getExpiresAt().isBefore(OffsetDateTime.now())) {
+            throw invalidRefreshToken();
+        }
+
+        return refreshToken.getUser();
+    }
+
+    public void revoke(String token) {
+        repository.deleteByTokenHash(hash(token));
+    }
+
+    @Scheduled(fixedDelayString = "${todo-api.refresh-token.sweep-interval:PT10M}")
+    public void sweepExpired() {
+        repository.deleteExpired(OffsetDateTime.now());
+    }
+
+    private static BadCredentialsException invalidRefreshToken() {
+        return new BadCredentialsException("Invalid or expired refresh token");
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+}
@@ -5,19 +5,66 @@ import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
 import br.com.gabezy.todoapi.domain.enumaration.RoleName;
 import br.com.gabezy.todoapi.exceptions.ResourceNotFoundException;
 import br.com.gabezy.todoapi.repositories.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Roles are static reference data, so they are read once into an immutable registry and handed out from memory. The
+ * returned roles are detached and only meant to be attached to users by id. The registry is reloaded on
+ * {@link #refresh()} and when a role is missing from it, which covers roles seeded after startup. A miss reloads it at
+ * most once per interval, so a role missing from the database too fails fast instead of reloading on every request.
+ */
 @Service
 public class RoleService {
 
     private final RoleRepository repository;
 
-    public RoleService(RoleRepository repository) {
+    private final long missRefreshIntervalNanos;
+
+    private volatile Map<RoleName, Role> registry = Collections.emptyMap();
+    private long nextMissRefresh;
+
+    public RoleService(RoleRepository repository,
+                       @Value("${todo-api.roles.miss-refresh-interval:1m}") Duration missRefreshInterval) {
         this.repository = repository;
+        this.missRefreshIntervalNanos = missRefreshInterval.toNanos();
+        this.nextMissRefresh = System.nanoTime();
     }
 
     public Role findByName(RoleName roleName) {
-        return repository.findByName(roleName)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.ROLE_NOT_FOUND));
+        Role role = registry.get(roleName);
+        if (Objects.isNull(role)) {
+            role = refreshOnMiss().get(roleName);
+        }
+        if (Objects.isNull(role)) {
+            throw new ResourceNotFoundException(ErrorCode.ROLE_NOT_FOUND);
+        }
+        return role;
     }
+
+    @PostConstruct
+    public synchronized void refresh() {
+        Map<RoleName, Role> roles = new EnumMap<>(RoleName.class);
+        repository.findAll().forEach(role -> roles.put(role.getName(), role));
+
+        this.registry = Collections.unmodifiableMap(roles);
+    }
+
+    private synchronized Map<RoleName, Role> refreshOnMiss() {
+        long now = System.nanoTime();
+        if (now - nextMissRefresh < 0) {
+            return registry;
+        }
+        nextMissRefresh = now + missRefreshIntervalNanos;
+        refresh();
+        return registry;
+    }
+
 }
@@ -0,0 +1,254 @@
+package br.com.gabezy.todoapi.services;
+
+import br.com.gabezy.todoapi.domain.detail.TaskIndexDocument;
+import br.com.gabezy.todoapi.repositories.TaskRespository;
+import br.com.gabezy.todoapi.utils.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index of task contents, stored on local disk. Task writes update it incrementally; searches see them
+ * after the next refresh, which happens on every search and at a fixed interval. The index can always be rebuilt from
+ * the database with {@link #rebuild()}.
+ * <p>
+ * The index belongs to this instance only: with several instances, each one indexes just the writes it handles itself,
+ * so index searches are only consistent when a single instance serves the tasks.
+ * <p>
+ * Writes are applied once their transaction commits, so a rollback never reaches the index. One that fails, or that
+ * arrives during a rebuild, is queued and applied again on the next refresh, after the rebuild; while anything is
+ * queued, later writes queue behind it so that writes to the same task keep their order.
+ */
+@Service
+public class TaskIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskIndexService.class);
+
+    private static final String ID_FIELD = "id";
+    private static final String USER_ID_FIELD = "userId";
+    private static final String CONTENT_FIELD = "content";
+    private static final String COMPLETED_FIELD = "completed";
+
+    private final TaskRespository repository;
+    private final MMapDirectory directory;
+    private final StandardAnalyzer analyzer;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final int maxResults;
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Queue<IndexOperation> pending = new ConcurrentLinkedQueue<>();
+
+    public TaskIndexService(TaskRespository repository,
+                            @Value("${todo-api.task-index.path:./data/task-index}") Path path,
+                            @Value("${todo-api.task-index.max-results:1000}") int maxResults) throws IOException {
+        this.repository = repository;
+        this.maxResults = maxResults;
+        this.directory = new MMapDirectory(path);
+        this.analyzer = new StandardAnalyzer();
+        this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    public void index(TaskIndexDocument task) {
+        write(() -> indexWriter.updateDocument(new Term(ID_FIELD, task.id().toString()), toDocument(task)));
+    }
+
+    public void updateCompleted(Long taskId, Boolean completed) {
+        write(() -> {
+            if (!indexWriter.getFieldNames().contains(COMPLETED_FIELD)) {
+                return; // nothing indexed yet, so there is no document to update
+            }
+            indexWriter.updateNumericDocValue(new Term(ID_FIELD, taskId.toString()), COMPLETED_FIELD, toLong(completed));
+        });
+    }
+
+    public void delete(Long taskId) {
+        write(() -> indexWriter.deleteDocuments(new Term(ID_FIELD, taskId.toString())));
+    }
+
+    public void deleteByUser(Long userId) {
+        write(() -> indexWriter.deleteDocuments(new Term(USER_ID_FIELD, userId.toString())));
+    }
+
+    /**
+     * @return ids of the user's tasks matching the text, most relevant first; empty when the text has no searchable terms
+     */
+    public List<Long> search(Long userId, String text, Boolean completed) {
+        Query contentQuery = new QueryBuilder(analyzer).createBooleanQuery(CONTENT_FIELD, text, BooleanClause.Occur.SHOULD);
+        if (Objects.isNull(contentQuery)) {
+            return List.of();
+        }
+
+        var query = new BooleanQuery.Builder()
+                .add(contentQuery, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(USER_ID_FIELD, userId.toString())), BooleanClause.Occur.FILTER);
+        if (Objects.nonNull(completed)) {
+            query.add(NumericDocValuesField.newSlowExactQuery(COMPLETED_FIELD, toLong(completed)), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query.build(), maxResults).scoreDocs;
+                var storedFields = searcher.storedFields();
+
+                List<Long> ids = new ArrayList<>(hits.length);
+                for (ScoreDoc hit : hits) {
+                    Document document = storedFields.document(hit.doc, Set.of(ID_FIELD));
+                    ids.add(Long.valueOf(document.get(ID_FIELD)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Drops the index and streams every task from the database into it. Writes arriving meanwhile are queued and
+     * applied once it is done, since the stream may have read their tasks before they changed.
+     */
+    @Transactional(readOnly = true)
+    public long rebuild() {
+        long indexed = 0;
+
+        rebuildLock.writeLock().lock();
+        try (Stream<TaskIndexDocument> tasks = repository.streamAllForIndex()) {
+            indexWriter.deleteAll();
+            for (TaskIndexDocument task : (Iterable<TaskIndexDocument>) tasks::iterator) {
+                indexWriter.addDocument(toDocument(task));
+                indexed++;
+            }
+            indexWriter.commit();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+
+        applyPending();
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return indexed;
+    }
+
+    @Scheduled(fixedDelayString = "${todo-api.task-index.refresh-interval:PT1S}")
+    public void refresh() {
+        applyPending();
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo-api.task-index.commit-interval:PT30S}")
+    public void commit() throws IOException {
+        if (indexWriter.hasUncommittedChanges()) {
+            indexWriter.commit();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    private void write(IndexOperation operation) {
+        TransactionUtil.afterCommit(() -> apply(operation));
+    }
+
+    private void apply(IndexOperation operation) {
+        // a rebuild holds the write lock for its whole run, so the write is queued rather than waiting for it
+        if (!pending.isEmpty() || !rebuildLock.readLock().tryLock()) {
+            pending.add(operation);
+            return;
+        }
+        try {
+            operation.apply();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Task index write failed, retrying on the next refresh", ex);
+            pending.add(operation);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private synchronized void applyPending() {
+        if (pending.isEmpty() || !rebuildLock.readLock().tryLock()) {
+            return;
+        }
+        try {
+            for (IndexOperation operation = pending.peek(); operation != null; operation = pending.peek()) {
+                operation.apply();
+                pending.poll();
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Task index write failed again, retrying on the next refresh", ex);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private Document toDocument(TaskIndexDocument task) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, task.id().toString(), Field.Store.YES));
+        document.add(new StringField(USER_ID_FIELD, task.userId().toString(), Field.Store.NO));
+        document.add(new TextField(CONTENT_FIELD, task.content(), Field.Store.NO));
+        document.add(new NumericDocValuesField(COMPLETED_FIELD, toLong(task.completed())));
+        return document;
+    }
+
+    private static long toLong(Boolean completed) {
+        return Boolean.TRUE.equals(completed) ? 1L : 0L;
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void apply() throws IOException;
+    }
+
+}
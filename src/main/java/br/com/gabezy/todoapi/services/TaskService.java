@@ -1,5 +1,7 @@
 package br.com.gabezy.todoapi.services;
 
+import br.com.gabezy.todoapi.domain.detail.TaskIndexDocument;
+import br.com.gabezy.todoapi.domain.dto.CursorPageDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskCompletedDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskDataDTO;
@@ -7,84 +9,248 @@ import br.com.gabezy.todoapi.domain.dto.TaskFilterDTO;
 import br.com.gabezy.todoapi.domain.entity.Task;
 import br.com.gabezy.todoapi.domain.entity.User;
 import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import br.com.gabezy.todoapi.domain.enumaration.TaskSearchMode;
 import br.com.gabezy.todoapi.exceptions.ResourceNotFoundException;
 import br.com.gabezy.todoapi.repositories.TaskRespository;
 import br.com.gabezy.todoapi.utils.AuthenticationUtil;
+import br.com.gabezy.todoapi.utils.CursorUtil;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    private static final int FULLTEXT_MIN_WORD_LENGTH = 3;
+
     private final TaskRespository repository;
+    private final TaskIndexService taskIndexService;
+    private final TaskSuggestionService taskSuggestionService;
+    private final EntityManager entityManager;
+    private final int batchSize;
 
-    public TaskService(TaskRespository taskRespository) {
+    public TaskService(TaskRespository taskRespository, TaskIndexService taskIndexService,
+                       TaskSuggestionService taskSuggestionService, EntityManager entityManager,
+                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
         this.repository = taskRespository;
+        this.taskIndexService = taskIndexService;
+        this.taskSuggestionService = taskSuggestionService;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
     }
 
     public Task createTask(TaskDTO newTask) {
-        Task task = new Task();
-        task.setContent(newTask.content());
-        task.setCompleted(newTask.completed());
-        task.setUser(AuthenticationUtil.getCurrentUser());
-        return repository.save(task);
+        Task savedTask = repository.save(mapToTask(newTask, AuthenticationUtil.getCurrentUser()));
+        taskIndexService.index(mapToIndexDocument(savedTask));
+        taskSuggestionService.saved(savedTask.getUser().getId(), savedTask.getId(), savedTask.getContent());
+        return savedTask;
     }
 
-    public Page<TaskDataDTO> findAll(Pageable pageable) {
+    /**
+     * Creates the tasks in one transaction, inserted in JDBC batches. Each batch is flushed and then cleared from the
+     * persistence context, so a large request doesn't keep every task managed until commit.
+     *
+     * @return the ids of the created tasks, in the order they were given
+     */
+    @Transactional
+    public List<Long> createTasks(List<TaskDTO> newTasks) {
         User currentUser = AuthenticationUtil.getCurrentUser();
+        List<TaskIndexDocument> documents = new ArrayList<>(newTasks.size());
 
-        Page<Task> taskPage = repository.findAllByUser(currentUser, pageable);
+        for (int from = 0; from < newTasks.size(); from += batchSize) {
+            List<Task> batch = newTasks.subList(from, Math.min(from + batchSize, newTasks.size()))
+                    .stream()
+                    .map(newTask -> mapToTask(newTask, currentUser))
+                    .toList();
 
-        List<TaskDataDTO> taskDataList = taskPage.getContent()
-                .stream()
-                .map(this::mapToDataDTO)
+            repository.saveAll(batch).forEach(task -> documents.add(mapToIndexDocument(task)));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        // indexed once every insert went through, so a failing batch doesn't leave tasks in the search index
+        for (TaskIndexDocument document : documents) {
+            taskIndexService.index(document);
+            taskSuggestionService.saved(currentUser.getId(), document.id(), document.content());
+        }
+
+        return documents.stream()
+                .map(TaskIndexDocument::id)
                 .toList();
+    }
+
+    public Page<TaskDataDTO> findAll(Pageable pageable) {
+        User currentUser = AuthenticationUtil.getCurrentUser();
 
-        return new PageImpl<>(taskDataList, pageable, taskPage.getTotalElements());
+        return repository.findAllByUser(currentUser, pageable);
+    }
+
+    public Slice<TaskDataDTO> findAllSlice(Pageable pageable) {
+        User currentUser = AuthenticationUtil.getCurrentUser();
+        return repository.findSliceByUser(currentUser, pageable);
+    }
+
+    public CursorPageDTO<TaskDataDTO> findAllByCursor(String cursor, int size) {
+        User currentUser = AuthenticationUtil.getCurrentUser();
+        Long afterId = CursorUtil.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+
+        List<TaskDataDTO> tasks = Objects.isNull(afterId)
+                ? repository.findByUserOrderByIdAsc(currentUser, limit)
+                : repository.findByUserAndIdGreaterThanOrderByIdAsc(currentUser, afterId, limit);
+
+        boolean hasNext = tasks.size() > size;
+        List<TaskDataDTO> pageTasks = hasNext ? tasks.subList(0, size) : tasks;
+        String nextCursor = hasNext ? CursorUtil.encode(pageTasks.get(size - 1).id()) : null;
+
+        return new CursorPageDTO<>(pageTasks, nextCursor);
     }
 
     public TaskDataDTO findById(Long id) {
-        var task = this.findTaskById(id);
-        return mapToDataDTO(task);
+        User currentUser = AuthenticationUtil.getCurrentUser();
+        return repository.findDataByIdAndUser(id, currentUser)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TASK_NOT_FOUND));
     }
 
-    public List<TaskDataDTO> findByFilter(TaskFilterDTO dto) {
+    public Page<TaskDataDTO> findByFilter(TaskFilterDTO dto, Pageable pageable) {
         User currentUser = AuthenticationUtil.getCurrentUser();
-        return repository.findByFilters(dto.content(), dto.completed(), currentUser)
-                .stream()
-                .map(this::mapToDataDTO)
-                .toList();
+        // relevance decides the order of ranked searches, so only the page position is taken from the request
+        Pageable pagePosition = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+
+        if (isIndexSearch(dto)) {
+            return findByIndex(dto, currentUser, pagePosition);
+        }
+        if (isFullTextSearch(dto)) {
+            return repository.findByFullTextContent(dto.content(), dto.completed(), currentUser.getId(), pagePosition);
+        }
+
+        Pageable byIdUnlessSorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSortOr(Sort.by("id")));
+        return repository.findByFilters(dto.content(), dto.completed(), currentUser, byIdUnlessSorted);
+    }
+
+    /**
+     * Hands every matching task to the consumer as it is read, without holding the whole result in memory.
+     */
+    @Transactional(readOnly = true)
+    public void streamByFilter(TaskFilterDTO dto, Consumer<TaskDataDTO> consumer) {
+        User currentUser = AuthenticationUtil.getCurrentUser();
+
+        if (isIndexSearch(dto)) {
+            // already bounded by the index's max results
+            List<Long> rankedIds = taskIndexService.search(currentUser.getId(), dto.content(), dto.completed());
+            findInRankOrder(rankedIds).forEach(consumer);
+            return;
+        }
+
+        try (Stream<TaskDataDTO> tasks = isFullTextSearch(dto)
+                ? repository.streamByFullTextContent(dto.content(), dto.completed(), currentUser.getId())
+                : repository.streamByFilters(dto.content(), dto.completed(), currentUser)) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        User currentUser = AuthenticationUtil.getCurrentUser();
+        return taskSuggestionService.suggest(currentUser.getId(), prefix, limit);
     }
 
     public void updateTask(Long taskId, TaskDTO dto) {
-        Task taskUpdate = this.findTaskById(taskId);
-        taskUpdate.setContent(dto.content());
-        taskUpdate.setCompleted(dto.completed());
-        repository.save(taskUpdate);
+        User currentUser = AuthenticationUtil.getCurrentUser();
+        requireAffected(repository.updateByIdAndUser(taskId, currentUser, dto.content(), dto.completed()));
+
+        taskIndexService.index(new TaskIndexDocument(taskId, currentUser.getId(), dto.content(), dto.completed()));
+        taskSuggestionService.saved(currentUser.getId(), taskId, dto.content());
     }
 
     public void patchCompletedStatus(Long taskId, TaskCompletedDTO dto) {
-        Task task = this.findTaskById(taskId);
-        task.setCompleted(dto.completed());
-        repository.save(task);
+        User currentUser = AuthenticationUtil.getCurrentUser();
+        requireAffected(repository.updateCompletedByIdAndUser(taskId, currentUser, dto.completed()));
+        taskIndexService.updateCompleted(taskId, dto.completed());
     }
 
     public void deleteTaskById(Long taskId) {
-        Task taskDelete = this.findTaskById(taskId);
-        repository.delete(taskDelete);
+        User currentUser = AuthenticationUtil.getCurrentUser();
+        requireAffected(repository.deleteByIdAndUser(taskId, currentUser));
+
+        taskIndexService.delete(taskId);
+        taskSuggestionService.removed(currentUser.getId(), taskId);
     }
 
-    private Task findTaskById(Long id) {
-        User currentUser = AuthenticationUtil.getCurrentUser();
-        return repository.findByIdAndUser(id, currentUser)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TASK_NOT_FOUND));
+    private Page<TaskDataDTO> findByIndex(TaskFilterDTO dto, User currentUser, Pageable pageable) {
+        List<Long> rankedIds = taskIndexService.search(currentUser.getId(), dto.content(), dto.completed());
+
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+
+        return new PageImpl<>(findInRankOrder(rankedIds.subList(from, to)), pageable, rankedIds.size());
+    }
+
+    private List<TaskDataDTO> findInRankOrder(List<Long> rankedIds) {
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TaskDataDTO> tasksById = repository.findDataByIdIn(rankedIds)
+                .stream()
+                .collect(Collectors.toMap(TaskDataDTO::id, Function.identity()));
+
+        return rankedIds.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private boolean isIndexSearch(TaskFilterDTO dto) {
+        return dto.mode() == TaskSearchMode.INDEX && Objects.nonNull(dto.content()) && !dto.content().isBlank();
+    }
+
+    private boolean isFullTextSearch(TaskFilterDTO dto) {
+        if (dto.mode() != TaskSearchMode.FULLTEXT || Objects.isNull(dto.content())) {
+            return false;
+        }
+
+        return Arrays.stream(dto.content().trim().split("\\s+"))
+                .anyMatch(word -> word.length() >= FULLTEXT_MIN_WORD_LENGTH);
+    }
+
+    /**
+     * Writes are single statements scoped by id and owner, so a missing task and someone else's task both affect no
+     * row and are both reported as not found.
+     */
+    private static void requireAffected(int affectedRows) {
+        if (affectedRows == 0) {
+            throw new ResourceNotFoundException(ErrorCode.TASK_NOT_FOUND);
+        }
+    }
+
+    private static Task mapToTask(TaskDTO newTask, User user) {
+        Task task = new Task();
+        task.setContent(newTask.content());
+        task.setCompleted(newTask.completed());
+        task.setUser(user);
+        return task;
     }
 
-    private TaskDataDTO mapToDataDTO(Task task) {
-        return new TaskDataDTO(task.getId(), task.getContent(), task.getCompleted());
+    private TaskIndexDocument mapToIndexDocument(Task task) {
+        return new TaskIndexDocument(task.getId(), task.getUser().getId(), task.getContent(), task.getCompleted());
     }
 }
@@ -0,0 +1,145 @@
+package br.com.gabezy.todoapi.services;
+
+import br.com.gabezy.todoapi.domain.dto.TaskDataDTO;
+import br.com.gabezy.todoapi.repositories.TaskRespository;
+import br.com.gabezy.todoapi.utils.PrefixTrie;
+import br.com.gabezy.todoapi.utils.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Autocomplete over each user's task contents. A user's trie is built from the database on their first suggestion and
+ * kept in sync by task writes until it is evicted, either for being idle or for being the least recently used.
+ * <p>
+ * The tries belong to this instance only and just see the writes it handles itself, so a trie is also rebuilt once it
+ * reaches its maximum age, however active its user is. Tasks written through another instance show up at the latest
+ * then.
+ * <p>
+ * Writes are applied after they commit and by task id, so applying one the load already read changes nothing, and one
+ * that commits while the trie is loading waits for the load and is applied on top of it.
+ */
+@Service
+public class TaskSuggestionService {
+
+    private final TaskRespository repository;
+    private final LongSupplier nanoClock;
+    private final Cache<Long, UserSuggestions> suggestions;
+
+    @Autowired
+    public TaskSuggestionService(TaskRespository repository,
+                                 @Value("${todo-api.task-suggestion.maximum-users:10000}") long maximumUsers,
+                                 @Value("${todo-api.task-suggestion.idle-expiry:10m}") Duration idleExpiry,
+                                 @Value("${todo-api.task-suggestion.max-age:30m}") Duration maxAge) {
+        this(repository, maximumUsers, idleExpiry, maxAge, System::nanoTime);
+    }
+
+    TaskSuggestionService(TaskRespository repository, long maximumUsers, Duration idleExpiry, Duration maxAge,
+                          LongSupplier nanoClock) {
+        this.repository = repository;
+        this.nanoClock = nanoClock;
+        this.suggestions = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .expireAfter(new IdleOrMaxAgeExpiry(idleExpiry.toNanos(), maxAge.toNanos()))
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    public List<String> suggest(Long userId, String prefix, int limit) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return suggestions.get(userId, this::load).trie().complete(prefix.strip(), limit);
+    }
+
+    /**
+     * Records the task's content, replacing the one it had if the task is already known.
+     */
+    public void saved(Long userId, Long taskId, String content) {
+        // computeIfPresent waits for a trie that is still loading instead of dropping the write
+        TransactionUtil.afterCommit(() -> suggestions.asMap().computeIfPresent(userId, (id, userSuggestions) -> {
+            userSuggestions.put(taskId, content);
+            return userSuggestions;
+        }));
+    }
+
+    public void removed(Long userId, Long taskId) {
+        TransactionUtil.afterCommit(() -> suggestions.asMap().computeIfPresent(userId, (id, userSuggestions) -> {
+            userSuggestions.remove(taskId);
+            return userSuggestions;
+        }));
+    }
+
+    public void evict(Long userId) {
+        TransactionUtil.afterCommit(() -> suggestions.invalidate(userId));
+    }
+
+    private UserSuggestions load(Long userId) {
+        UserSuggestions userSuggestions = new UserSuggestions(new PrefixTrie(), new HashMap<>(), nanoClock.getAsLong());
+        repository.findDataByUserId(userId).forEach(task -> userSuggestions.put(task.id(), task.content()));
+        return userSuggestions;
+    }
+
+    /**
+     * Only changed inside the cache's compute for its user, so writes to it never run concurrently.
+     */
+    private record UserSuggestions(PrefixTrie trie, Map<Long, String> contentsById, long loadedAt) {
+
+        void put(Long taskId, String content) {
+            String previousContent = contentsById.put(taskId, content);
+            if (Objects.equals(previousContent, content)) {
+                return;
+            }
+            if (Objects.nonNull(previousContent)) {
+                trie.remove(previousContent);
+            }
+            trie.add(content);
+        }
+
+        void remove(Long taskId) {
+            String previousContent = contentsById.remove(taskId);
+            if (Objects.nonNull(previousContent)) {
+                trie.remove(previousContent);
+            }
+        }
+    }
+
+    /**
+     * Reads keep a trie alive for the idle expiry, but never past its maximum age. Task writes keep the current
+     * expiry, since they update the trie in place instead of reloading it.
+     */
+    private record IdleOrMaxAgeExpiry(long idleNanos, long maxAgeNanos) implements Expiry<Long, UserSuggestions> {
+
+        @Override
+        public long expireAfterCreate(Long userId, UserSuggestions userSuggestions, long currentTime) {
+            return remaining(userSuggestions, currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(Long userId, UserSuggestions userSuggestions, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Long userId, UserSuggestions userSuggestions, long currentTime,
+                                    long currentDuration) {
+            return remaining(userSuggestions, currentTime);
+        }
+
+        private long remaining(UserSuggestions userSuggestions, long currentTime) {
+            return Math.max(0L, Math.min(idleNanos, userSuggestions.loadedAt() + maxAgeNanos - currentTime));
+        }
+    }
+
+}
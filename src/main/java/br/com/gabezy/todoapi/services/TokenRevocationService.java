@@ -0,0 +1,124 @@
+package br.com.gabezy.todoapi.services;
+
+import br.com.gabezy.todoapi.domain.detail.VerifiedToken;
+import br.com.gabezy.todoapi.domain.entity.TokenRevocation;
+import br.com.gabezy.todoapi.repositories.TokenRevocationRepository;
+import br.com.gabezy.todoapi.utils.BloomFilter;
+import br.com.gabezy.todoapi.utils.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Revocations are stored in the database and mirrored in an in-memory Bloom filter. Tokens that are not in the
+ * filter (the normal path) are accepted without any database access; only possible hits are confirmed in the store.
+ * The filter is periodically rebuilt from the store, which also picks up revocations made by other instances. Until
+ * then, up to the reload interval (30 seconds by default), another instance still accepts a token revoked here.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final String TOKEN_ID_PREFIX = "jti:";
+    private static final String SUBJECT_PREFIX = "sub:";
+
+    private final TokenRevocationRepository repository;
+    private final long expectedRevocations;
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter bloomFilter;
+
+    public TokenRevocationService(TokenRevocationRepository repository,
+                                  @Value("${todo-api.token-revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${todo-api.token-revocation.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.repository = repository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveProbability);
+    }
+
+    public void revokeToken(VerifiedToken token) {
+        if (Objects.isNull(token.tokenId())) {
+            return;
+        }
+
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setRevocationKey(TOKEN_ID_PREFIX + token.tokenId());
+        revocation.setExpiresAt(Objects.nonNull(token.expiresAt())
+                ? token.expiresAt().atOffset(OffsetDateTime.now().getOffset())
+                : OffsetDateTime.now().plus(JwtTokenService.TOKEN_TIME_TO_LIVE));
+        repository.save(revocation);
+
+        addToFilterAfterCommit(revocation.getRevocationKey());
+    }
+
+    public void revokeSubject(String subject) {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setRevocationKey(SUBJECT_PREFIX + subject);
+        revocation.setNotBefore(now.truncatedTo(ChronoUnit.SECONDS));
+        revocation.setExpiresAt(now.plus(JwtTokenService.TOKEN_TIME_TO_LIVE));
+        repository.save(revocation);
+
+        addToFilterAfterCommit(revocation.getRevocationKey());
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        BloomFilter currentFilter = this.bloomFilter;
+
+        if (Objects.nonNull(token.tokenId())) {
+            String tokenIdKey = TOKEN_ID_PREFIX + token.tokenId();
+            if (currentFilter.mightContain(tokenIdKey) && repository.existsById(tokenIdKey)) {
+                return true;
+            }
+        }
+
+        String subjectKey = SUBJECT_PREFIX + token.subject();
+        if (!currentFilter.mightContain(subjectKey)) {
+            return false;
+        }
+
+        return repository.findById(subjectKey)
+                .map(revocation -> isIssuedUpTo(token, revocation.getNotBefore()))
+                .orElse(false);
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${todo-api.token-revocation.reload-interval:PT30S}",
+            initialDelayString = "${todo-api.token-revocation.reload-interval:PT30S}")
+    public synchronized void reload() {
+        OffsetDateTime now = OffsetDateTime.now();
+        repository.deleteExpired(now);
+
+        List<String> activeKeys = repository.findActiveKeys(now);
+
+        BloomFilter reloadedFilter = new BloomFilter(Math.max(expectedRevocations, activeKeys.size() * 2L), falsePositiveProbability);
+        activeKeys.forEach(reloadedFilter::add);
+
+        this.bloomFilter = reloadedFilter;
+    }
+
+    /**
+     * A key added before its revocation commits could be dropped by a reload that doesn't see it yet. Added after the
+     * commit and under the reload's lock, it either reaches the filter before a reload, which then reads it from the
+     * store anyway, or waits for the reload and reaches the filter it swapped in.
+     */
+    private void addToFilterAfterCommit(String revocationKey) {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                bloomFilter.add(revocationKey);
+            }
+        });
+    }
+
+    private boolean isIssuedUpTo(VerifiedToken token, OffsetDateTime notBefore) {
+        return Objects.isNull(token.issuedAt()) || !token.issuedAt().isAfter(notBefore.toInstant());
+    }
+
+}
@@ -2,12 +2,13 @@ package br.com.gabezy.todoapi.services;
 
 import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserService userService;
 
@@ -19,4 +20,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return new UserDetailsImpl(userService.findByEmail(username));
     }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return new UserDetailsImpl(userService.updatePassword(user.getUsername(), newPassword));
+    }
 }
@@ -0,0 +1,35 @@
+package br.com.gabezy.todoapi.services;
+
+import br.com.gabezy.todoapi.domain.entity.UserEmailTrigram;
+import br.com.gabezy.todoapi.repositories.UserEmailTrigramRepository;
+import br.com.gabezy.todoapi.utils.Trigrams;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the trigrams of each user's email in {@code user_email_trigrams}, which lets substring searches on emails
+ * intersect the users holding every trigram of the search term instead of scanning the users table.
+ */
+@Service
+public class UserEmailIndexService {
+
+    private final UserEmailTrigramRepository repository;
+
+    public UserEmailIndexService(UserEmailTrigramRepository repository) {
+        this.repository = repository;
+    }
+
+    @Transactional
+    public void index(Long userId, String email) {
+        repository.deleteByUserId(userId);
+        repository.saveAll(Trigrams.of(email)
+                .stream()
+                .map(trigram -> new UserEmailTrigram(trigram, userId))
+                .toList());
+    }
+
+    public void remove(Long userId) {
+        repository.deleteByUserId(userId);
+    }
+
+}
@@ -1,5 +1,6 @@
 package br.com.gabezy.todoapi.services;
 
+import br.com.gabezy.todoapi.config.security.PrincipalCache;
 import br.com.gabezy.todoapi.domain.dto.CreateUserDTO;
 import br.com.gabezy.todoapi.domain.dto.UpdateUserDTO;
 import br.com.gabezy.todoapi.domain.dto.UserDTO;
@@ -12,13 +13,24 @@ import br.com.gabezy.todoapi.exceptions.InvalidCredentialsException;
 import br.com.gabezy.todoapi.exceptions.ResourceNotFoundException;
 import br.com.gabezy.todoapi.repositories.UserRespository;
 import br.com.gabezy.todoapi.utils.AuthenticationUtil;
+import br.com.gabezy.todoapi.utils.TransactionUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
@@ -26,19 +38,44 @@ public class UserService {
     private final UserRespository repository;
     private final RoleService roleService;
     private final PasswordEncoder passwordEncoder;
-
-    public UserService(UserRespository repository, RoleService roleService, PasswordEncoder passwordEncoder) {
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final TaskIndexService taskIndexService;
+    private final UserEmailIndexService userEmailIndexService;
+    private final TaskSuggestionService taskSuggestionService;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserService(UserRespository repository, RoleService roleService, PasswordEncoder passwordEncoder,
+                       PrincipalCache principalCache, TokenRevocationService tokenRevocationService,
+                       TaskIndexService taskIndexService, UserEmailIndexService userEmailIndexService,
+                       TaskSuggestionService taskSuggestionService, TransactionTemplate transactionTemplate) {
         this.repository = repository;
         this.roleService = roleService;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.taskIndexService = taskIndexService;
+        this.userEmailIndexService = userEmailIndexService;
+        this.taskSuggestionService = taskSuggestionService;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    /**
+     * The password is hashed before the transaction starts, so no connection is held while BCrypt runs or waits for a
+     * hashing thread.
+     */
     public User createUser(CreateUserDTO dto) {
-        User user = new User();
-        user.setEmail(dto.email());
-        user.setPassword(passwordEncoder.encode(dto.password()));
-        user.setRoles(getUserRole());
-        return repository.save(user);
+        String encodedPassword = passwordEncoder.encode(dto.password());
+        return transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setEmail(dto.email());
+            user.setPassword(encodedPassword);
+            user.setRoles(getUserRole());
+            User savedUser = repository.save(user);
+            userEmailIndexService.index(savedUser.getId(), savedUser.getEmail());
+            invalidatePrincipalAfterCommit(savedUser.getEmail());
+            return savedUser;
+        });
     }
 
     public UserDTO findById(Long id) {
@@ -47,21 +84,21 @@ public class UserService {
     }
 
     public Page<UserDTO> findAll(Pageable pageable) {
-        Page<User> userPage = repository.findAll(pageable);
-
-        List<UserDTO> userDTOList = userPage.getContent()
-                .stream()
-                .map(this::mapToUserInfoDTO)
-                .toList();
+        Page<Long> idPage = repository.findIdsBy(pageable);
+        return new PageImpl<>(findWithRolesInOrder(idPage.getContent()), pageable, idPage.getTotalElements());
+    }
 
-        return new PageImpl<>(userDTOList, pageable, userPage.getTotalElements());
+    public Slice<UserDTO> findAllSlice(Pageable pageable) {
+        Slice<Long> idSlice = repository.findIdSliceBy(pageable);
+        return new SliceImpl<>(findWithRolesInOrder(idSlice.getContent()), pageable, idSlice.hasNext());
     }
 
-    public List<UserDTO> findByFilter(UserFilterDTO dto) {
-        return repository.findByEmailContainingAndRoleName(dto.email(), dto.roleName())
-                .stream()
-                .map(this::mapToUserInfoDTO)
-                .toList();
+    @Transactional(readOnly = true)
+    public Page<UserDTO> findByFilter(UserFilterDTO dto, Pageable pageable) {
+        Pageable byIdUnlessSorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSortOr(Sort.by("id")));
+        return repository.findByEmailContainingAndRoleName(dto.email(), dto.roleName(), byIdUnlessSorted)
+                .map(this::mapToUserInfoDTO);
     }
 
     public User findByEmail(String email) {
@@ -69,27 +106,63 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND));
     }
 
+    /**
+     * Hashes the password before the transaction starts, as {@link #createUser(CreateUserDTO)} does.
+     */
     public void update(Long id, UpdateUserDTO dto) {
-        User user = this.findUserById(id);
+        String endocodedPassword = passwordEncoder.encode(dto.password());
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = this.findUserById(id);
 
-        validateUserAccess(user);
+            validateUserAccess(user);
 
-        List<Role> roles = getRolesByRoleNames(dto.roles());
-        String endocodedPassword = passwordEncoder.encode(dto.password());
+            List<Role> roles = getRolesByRoleNames(dto.roles());
+            String previousEmail = user.getEmail();
+
+            user.setEmail(dto.email());
+            user.setPassword(endocodedPassword);
 
-        user.setEmail(dto.email());
-        user.setPassword(endocodedPassword);
+            // the user is managed here and flushed on commit; saving would merge it and load every role that is
+            // not in the persistence context yet
+            user.getRoles().clear();
+            user.getRoles().addAll(roles);
 
-        user.getRoles().clear();
-        user.getRoles().addAll(roles);
+            if (!previousEmail.equals(dto.email())) {
+                userEmailIndexService.index(user.getId(), dto.email());
+            }
 
-        repository.save(user);
+            invalidatePrincipalAfterCommit(previousEmail);
+            invalidatePrincipalAfterCommit(dto.email());
+        });
     }
 
+    public User updatePassword(String email, String encodedPassword) {
+        User user = this.findByEmail(email);
+        user.setPassword(encodedPassword);
+
+        User savedUser = repository.save(user);
+        principalCache.invalidate(email);
+        return savedUser;
+    }
+
+    @Transactional
     public void delete(Long id) {
         User user = this.findUserById(id);
         validateUserAccess(user);
+        userEmailIndexService.remove(user.getId());
         repository.delete(user);
+        tokenRevocationService.revokeSubject(user.getEmail());
+        taskIndexService.deleteByUser(user.getId());
+        taskSuggestionService.evict(user.getId());
+        invalidatePrincipalAfterCommit(user.getEmail());
+    }
+
+    /**
+     * Invalidated only once the change is committed, otherwise a concurrent request could load the old row again and
+     * cache it for the whole time to live.
+     */
+    private void invalidatePrincipalAfterCommit(String email) {
+        TransactionUtil.afterCommit(() -> principalCache.invalidate(email));
     }
 
     private User findUserById(Long id) {
@@ -101,6 +174,26 @@ public class UserService {
         return List.of(roleService.findByName(RoleName.USER));
     }
 
+    /**
+     * Pages are read as ids first and the users of a page then fetched with their roles in a single statement, so a
+     * page costs the same few statements whatever its size, instead of one more per user for its roles.
+     */
+    private List<UserDTO> findWithRolesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, User> usersById = repository.findWithRolesByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToUserInfoDTO)
+                .toList();
+    }
+
     private UserDTO mapToUserInfoDTO(User user) {
         return new UserDTO(user.getId(), user.getEmail(), user.getRoles(), user.getCreatedAt());
     }
@@ -1,6 +1,7 @@
 package br.com.gabezy.todoapi.utils;
 
 import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
+import br.com.gabezy.todoapi.domain.detail.VerifiedToken;
 import br.com.gabezy.todoapi.domain.entity.User;
 import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
 import br.com.gabezy.todoapi.exceptions.InvalidCredentialsException;
@@ -15,6 +16,10 @@ public class AuthenticationUtil {
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * Returns the authenticated user. When the principal was built from token claims this is a lightweight
+     * reference carrying only the id, email and roles, which is enough to scope queries and associations.
+     */
     public static User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (Objects.nonNull(auth) && auth.getPrincipal() instanceof UserDetailsImpl userDetails && auth.isAuthenticated()) {
@@ -33,4 +38,13 @@ public class AuthenticationUtil {
         throw new InvalidCredentialsException(ErrorCode.USER_NOT_AUTHENTICATED);
     }
 
+    public static VerifiedToken getCurrentToken() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (Objects.nonNull(auth) && auth.getDetails() instanceof VerifiedToken verifiedToken && auth.isAuthenticated()) {
+            return verifiedToken;
+        }
+
+        throw new InvalidCredentialsException(ErrorCode.USER_NOT_AUTHENTICATED);
+    }
+
 }
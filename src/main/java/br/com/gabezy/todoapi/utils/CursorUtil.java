@@ -0,0 +1,35 @@
+package br.com.gabezy.todoapi.utils;
+
+import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import br.com.gabezy.todoapi.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+public class CursorUtil {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static String encode(Long lastId) {
+        return ENCODER.encodeToString(lastId.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return the id the cursor points after, or {@code null} for a blank cursor (first page)
+     */
+    public static Long decode(String cursor) {
+        if (Objects.isNull(cursor) || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(new String(DECODER.decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    private CursorUtil() { throw new IllegalStateException("Utility class");}
+}
@@ -4,11 +4,11 @@ public class EndpointUtil {
 
     public static final String[] PUBLIC_ENDPOINTS = {
             "/api-docs/**", "/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**", "/swagger-ui/index.html",
-            "/swagger-ui/", "/api-docs", "/v3/api-docs"
+            "/swagger-ui/", "/api-docs", "/v3/api-docs", "/actuator/health"
     };
 
     public static final String[] PUBLIC_POST_ENDPOINTS = {
-            "/auth", "/users",
+            "/auth", "/auth/refresh", "/users",
     };
 
     private EndpointUtil() { throw new IllegalStateException("Utility class");}
@@ -0,0 +1,239 @@
+package br.com.gabezy.todoapi.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Case-insensitive prefix index over short texts. Every text is reachable from the start of each of its words,
+ * so "jira" completes "Fix jira issue". Keys are capped at {@value #MAX_KEY_LENGTH} characters; longer prefixes are
+ * checked against the texts themselves. Completions of up to {@value #CACHED_COMPLETIONS} texts are kept per node until
+ * a write goes through it, so repeated keystrokes don't walk the subtree again. Completions share a read lock, writes
+ * take the write lock.
+ */
+public class PrefixTrie {
+
+    static final int MAX_KEY_LENGTH = 32;
+    static final int CACHED_COMPLETIONS = 20;
+
+    private static final Comparator<Map.Entry<String, Integer>> BY_RANK =
+            Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(String text) {
+        lock.writeLock().lock();
+        try {
+            for (String key : keys(text)) {
+                Node node = root;
+                node.completions = null;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.childOrCreate(key.charAt(i));
+                    node.completions = null;
+                }
+                node.values().merge(text, 1, Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String text) {
+        lock.writeLock().lock();
+        try {
+            for (String key : keys(text)) {
+                remove(root, key, 0, text);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return at most {@code limit} texts with a word starting with the prefix, most frequent first, then alphabetically
+     */
+    public List<String> complete(String prefix, int limit) {
+        String lowerCase = prefix.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < Math.min(lowerCase.length(), MAX_KEY_LENGTH) && node != null; i++) {
+                node = node.child(lowerCase.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            if (lowerCase.length() > MAX_KEY_LENGTH) {
+                return rank(node, limit, text -> hasWordStartingWith(text.toLowerCase(Locale.ROOT), lowerCase));
+            }
+            if (limit > CACHED_COMPLETIONS) {
+                return rank(node, limit, text -> true);
+            }
+
+            // readers only race each other here, and all of them would store the same list
+            List<String> completions = node.completions;
+            if (completions == null) {
+                completions = rank(node, CACHED_COMPLETIONS, text -> true);
+                node.completions = completions;
+            }
+            return completions.subList(0, Math.min(limit, completions.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps only the best {@code limit} matches on a heap instead of sorting every text under the node.
+     */
+    private static List<String> rank(Node node, int limit, Predicate<String> filter) {
+        Map<String, Integer> matches = new HashMap<>();
+        collect(node, matches);
+
+        PriorityQueue<Map.Entry<String, Integer>> best = new PriorityQueue<>(limit + 1, BY_RANK.reversed());
+        for (Map.Entry<String, Integer> match : matches.entrySet()) {
+            if (filter.test(match.getKey())) {
+                best.offer(match);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        return best.stream()
+                .sorted(BY_RANK)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static boolean remove(Node node, String key, int index, String text) {
+        node.completions = null;
+        if (index == key.length()) {
+            if (node.values != null) {
+                node.values.computeIfPresent(text, (value, count) -> count > 1 ? count - 1 : null);
+            }
+        } else {
+            Node child = node.child(key.charAt(index));
+            if (child != null && remove(child, key, index + 1, text)) {
+                node.removeChild(key.charAt(index));
+            }
+        }
+        return node.isEmpty();
+    }
+
+    private static void collect(Node node, Map<String, Integer> matches) {
+        // a text sits under each of its word starts, so one sharing the prefix twice must not count twice
+        if (node.values != null) {
+            node.values.forEach((text, count) -> matches.merge(text, count, Math::max));
+        }
+        for (int i = 0; i < node.size; i++) {
+            collect(node.children[i], matches);
+        }
+    }
+
+    private static boolean hasWordStartingWith(String text, String prefix) {
+        for (int start : wordStarts(text)) {
+            if (text.startsWith(prefix, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One key per distinct word start, so a repeated word doesn't count the text twice under the same node.
+     */
+    private static Set<String> keys(String text) {
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int start : wordStarts(lowerCase)) {
+            keys.add(lowerCase.substring(start, Math.min(lowerCase.length(), start + MAX_KEY_LENGTH)));
+        }
+        return keys;
+    }
+
+    private static List<Integer> wordStarts(String text) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i)) && (i == 0 || Character.isWhitespace(text.charAt(i - 1)))) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * Children are kept in sorted parallel arrays instead of a map, which keeps nodes small for the usual few children.
+     */
+    private static class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int size;
+        private Map<String, Integer> values;
+        private volatile List<String> completions;
+
+        Map<String, Integer> values() {
+            if (values == null) {
+                values = new HashMap<>(2);
+            }
+            return values;
+        }
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertion = -index - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertion, keys, insertion + 1, size - insertion);
+            System.arraycopy(children, insertion, children, insertion + 1, size - insertion);
+
+            Node child = new Node();
+            keys[insertion] = key;
+            children[insertion] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(children, index + 1, children, index, size - index - 1);
+            children[--size] = null;
+        }
+
+        boolean isEmpty() {
+            return size == 0 && (values == null || values.isEmpty());
+        }
+    }
+
+}
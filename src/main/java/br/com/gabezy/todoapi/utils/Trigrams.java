@@ -0,0 +1,30 @@
+package br.com.gabezy.todoapi.utils;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into the distinct runs of three consecutive characters of its lower case form, so "Doe" yields only
+ * "doe". Characters are counted as code points, matching how MySQL counts them.
+ */
+public final class Trigrams {
+
+    public static final int LENGTH = 3;
+
+    private Trigrams() {
+    }
+
+    /**
+     * @return the trigrams in order of first appearance, or an empty set for text shorter than {@value #LENGTH}
+     */
+    public static Set<String> of(String text) {
+        int[] codePoints = text.toLowerCase(Locale.ROOT).codePoints().toArray();
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int start = 0; start + LENGTH <= codePoints.length; start++) {
+            trigrams.add(new String(codePoints, start, LENGTH));
+        }
+        return trigrams;
+    }
+
+}
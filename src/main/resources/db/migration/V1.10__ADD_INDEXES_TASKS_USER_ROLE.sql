@@ -0,0 +1,17 @@
+-- Filters on the completed flag within a user's tasks. Ordering by id is already covered by FK_USERS_TASKS on
+-- (IDT_USER), since InnoDB appends the primary key to every secondary index.
+ALTER TABLE tasks ADD INDEX IDX_TASKS_USER_COMPLETED (IDT_USER, COMPLETED, IDT_TASK);
+
+-- Duplicated grants would make the primary key below fail. The table has no key to tell copies apart, so it is
+-- rewritten with its distinct rows.
+CREATE TEMPORARY TABLE user_role_distinct AS SELECT DISTINCT IDT_USER, IDT_ROLE FROM user_role;
+DELETE FROM user_role;
+INSERT INTO user_role (IDT_USER, IDT_ROLE) SELECT IDT_USER, IDT_ROLE FROM user_role_distinct;
+DROP TEMPORARY TABLE user_role_distinct;
+
+-- User to roles, also rejecting duplicated grants. MySQL drops the implicit index backing FK_IDT_USER by itself,
+-- since the primary key starts with IDT_USER.
+ALTER TABLE user_role ADD PRIMARY KEY (IDT_USER, IDT_ROLE);
+
+-- Role to users, for filtering users by role. Likewise replaces the implicit index backing FK_IDT_ROLE.
+ALTER TABLE user_role ADD INDEX IDX_USER_ROLE_ROLE_USER (IDT_ROLE, IDT_USER);
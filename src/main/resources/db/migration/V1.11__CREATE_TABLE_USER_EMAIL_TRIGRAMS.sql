@@ -0,0 +1,17 @@
+-- CREATE TABLE --
+CREATE TABLE user_email_trigrams
+(
+    TRIGRAM  VARCHAR(3) COLLATE utf8mb4_bin NOT NULL COMMENT 'Three consecutive characters of the lower case email.',
+    IDT_USER BIGINT NOT NULL COMMENT 'User unique ID (users.IDT_USER).',
+
+    PRIMARY KEY (TRIGRAM, IDT_USER),
+    CONSTRAINT FK_USER_EMAIL_TRIGRAMS_USER FOREIGN KEY (IDT_USER) REFERENCES users(IDT_USER)
+        ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB;
+
+-- BACKFILL --
+INSERT INTO user_email_trigrams (TRIGRAM, IDT_USER)
+WITH RECURSIVE positions (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM positions WHERE n < 253)
+SELECT DISTINCT SUBSTRING(LOWER(u.EMAIL), p.n, 3), u.IDT_USER
+FROM users u
+JOIN positions p ON p.n <= CHAR_LENGTH(u.EMAIL) - 2;
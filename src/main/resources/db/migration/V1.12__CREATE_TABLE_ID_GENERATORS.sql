@@ -0,0 +1,15 @@
+-- CREATE TABLE --
+CREATE TABLE id_generators
+(
+    NAME     VARCHAR(64) PRIMARY KEY NOT NULL COMMENT 'Name of the id sequence, e.g. tasks.',
+    NEXT_VAL BIGINT NOT NULL COMMENT 'Highest id of the next block to hand out. Blocks are 500 ids, so every id up to NEXT_VAL - 500 is taken.'
+) ENGINE=InnoDB;
+
+-- The first block handed out starts right after the ids already taken.
+INSERT INTO id_generators (NAME, NEXT_VAL)
+SELECT 'tasks', COALESCE(MAX(IDT_TASK), 0) + 500
+FROM tasks;
+
+-- Task ids now only come from id_generators. An AUTO_INCREMENT counter would hand out ids inside blocks the generator
+-- already reserved, so inserts made outside the application must reserve their ids there too, by raising NEXT_VAL.
+ALTER TABLE tasks MODIFY IDT_TASK BIGINT NOT NULL COMMENT 'Task unique ID. Taken from id_generators (tasks).';
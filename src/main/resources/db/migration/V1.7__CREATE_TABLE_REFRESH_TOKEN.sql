@@ -0,0 +1,11 @@
+-- CREATE TABLE --
+CREATE TABLE refresh_tokens
+(
+    TOKEN_HASH CHAR(43)  PRIMARY KEY NOT NULL COMMENT 'SHA-256 of the refresh token (Base64 URL). The token itself is never stored.',
+    IDT_USER   BIGINT    NOT NULL COMMENT 'References to user this refresh token belongs.',
+    EXPIRES_AT TIMESTAMP NOT NULL COMMENT 'Date and time after which the refresh token is no longer accepted.',
+
+    INDEX IDX_REFRESH_TOKENS_EXPIRES_AT (EXPIRES_AT),
+    CONSTRAINT FK_USERS_REFRESH_TOKENS FOREIGN KEY (IDT_USER) REFERENCES users(IDT_USER)
+        ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB;
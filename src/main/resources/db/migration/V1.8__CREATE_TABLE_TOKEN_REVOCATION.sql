@@ -0,0 +1,9 @@
+-- CREATE TABLE --
+CREATE TABLE token_revocations
+(
+    REVOCATION_KEY VARCHAR(300) PRIMARY KEY NOT NULL COMMENT 'Revoked token id (jti:<id>) or revoked subject (sub:<email>).',
+    NOT_BEFORE     TIMESTAMP NULL COMMENT 'For subjects, tokens issued up to this date and time are revoked. Null for token ids.',
+    EXPIRES_AT     TIMESTAMP NOT NULL COMMENT 'Date and time after which every token covered by the revocation has expired.',
+
+    INDEX IDX_TOKEN_REVOCATIONS_EXPIRES_AT (EXPIRES_AT)
+) ENGINE=InnoDB;
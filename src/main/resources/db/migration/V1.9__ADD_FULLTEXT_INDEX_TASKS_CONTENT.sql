@@ -0,0 +1,2 @@
+-- ADD INDEX --
+ALTER TABLE tasks ADD FULLTEXT INDEX FTX_TASKS_CONTENT (CONTENT);
@@ -0,0 +1,33 @@
+package br.com.gabezy.todoapi.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCostCalibratorTest {
+
+    private final BCryptCostCalibrator calibrator = new BCryptCostCalibrator() {
+        @Override
+        protected Duration measure(int strength) {
+            return Duration.ofMillis(50);
+        }
+    };
+
+    @Test
+    void should_pickHighestStrength_withinTargetLatency() {
+        assertEquals(12, calibrator.calibrate(Duration.ofMillis(250), 10, 16));
+    }
+
+    @Test
+    void should_keepMinStrength_whenHostIsSlowerThanTarget() {
+        assertEquals(10, calibrator.calibrate(Duration.ofMillis(10), 10, 16));
+    }
+
+    @Test
+    void should_notExceedMaxStrength() {
+        assertEquals(13, calibrator.calibrate(Duration.ofSeconds(10), 10, 13));
+    }
+
+}
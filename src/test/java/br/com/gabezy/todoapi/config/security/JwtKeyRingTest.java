@@ -0,0 +1,79 @@
+package br.com.gabezy.todoapi.config.security;
+
+import br.com.gabezy.todoapi.config.properties.JwtProperties;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final String ISSUER = "issuer";
+
+    @Test
+    void should_verifyToken_signedWithRetiringKey_afterRotation() {
+        JwtKeyRing previousRing = new JwtKeyRing(properties("2024", "old-secret", Map.of()));
+        String token = sign(previousRing.getActiveKey());
+
+        JwtKeyRing rotatedRing = new JwtKeyRing(properties("2025", "new-secret", Map.of("2024", "old-secret")));
+
+        assertEquals("jonh.doe@example.com", rotatedRing.verify(token).getSubject());
+        assertEquals("2025", rotatedRing.getActiveKey().keyId());
+    }
+
+    @Test
+    void should_rejectToken_signedWithUnknownKeyId() {
+        JwtKeyRing previousRing = new JwtKeyRing(properties("2024", "old-secret", Map.of()));
+        String token = sign(previousRing.getActiveKey());
+
+        JwtKeyRing rotatedRing = new JwtKeyRing(properties("2025", "new-secret", Map.of()));
+
+        assertThrows(JWTVerificationException.class, () -> rotatedRing.verify(token));
+    }
+
+    @Test
+    void should_verifyToken_withoutKeyId_againstEveryKey() {
+        String legacyToken = JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject("jonh.doe@example.com")
+                .sign(Algorithm.HMAC256("old-secret"));
+
+        JwtKeyRing ring = new JwtKeyRing(properties("2025", "new-secret", Map.of("2024", "old-secret")));
+
+        assertEquals("jonh.doe@example.com", ring.verify(legacyToken).getSubject());
+    }
+
+    @Test
+    void should_rejectToken_withoutKeyId_whenNoKeyMatches() {
+        String legacyToken = JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject("jonh.doe@example.com")
+                .sign(Algorithm.HMAC256("unknown-secret"));
+
+        JwtKeyRing ring = new JwtKeyRing(properties("2025", "new-secret", Map.of("2024", "old-secret")));
+
+        assertThrows(JWTVerificationException.class, () -> ring.verify(legacyToken));
+    }
+
+    private String sign(JwtKeyRing.SigningKey signingKey) {
+        return JWT.create()
+                .withKeyId(signingKey.keyId())
+                .withIssuer(ISSUER)
+                .withSubject("jonh.doe@example.com")
+                .sign(signingKey.algorithm());
+    }
+
+    private JwtProperties properties(String keyId, String secret, Map<String, String> retiringKeys) {
+        JwtProperties properties = new JwtProperties();
+        properties.setJwtKeyId(keyId);
+        properties.setJwtSecret(secret);
+        properties.setJwtIssuer(ISSUER);
+        properties.setJwtRetiringKeys(retiringKeys);
+        return properties;
+    }
+
+}
@@ -0,0 +1,96 @@
+package br.com.gabezy.todoapi.config.security;
+
+import br.com.gabezy.todoapi.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle = new LoginThrottle(true,
+                new LoginThrottle.Limit(2, Duration.ofMinutes(1)),
+                new LoginThrottle.Limit(3, Duration.ofMinutes(1)),
+                1000, meterRegistry, now::get);
+    }
+
+    @Test
+    void should_rejectEmail_whenBucketIsEmpty_andRefillOverTime() {
+        loginThrottle.acquire("jonh.doe@example.com", "10.0.0.1");
+        loginThrottle.acquire("JONH.DOE@example.com", "10.0.0.2");
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.acquire("jonh.doe@example.com", "10.0.0.3"));
+
+        assertEquals(30, ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("login.throttle.rejected").tag("key", "email").counter().count());
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertDoesNotThrow(() -> loginThrottle.acquire("jonh.doe@example.com", "10.0.0.3"));
+    }
+
+    @Test
+    void should_rejectAddress_whenSprayingDifferentEmails() {
+        loginThrottle.acquire("a@example.com", "10.0.0.1");
+        loginThrottle.acquire("b@example.com", "10.0.0.1");
+        loginThrottle.acquire("c@example.com", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("d@example.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> loginThrottle.acquire("d@example.com", "10.0.0.2"));
+
+        assertEquals(1, meterRegistry.get("login.throttle.rejected").tag("key", "address").counter().count());
+    }
+
+    @Test
+    void should_notChargeAddress_whenEmailIsRejected() {
+        loginThrottle.acquire("jonh.doe@example.com", "10.0.0.1");
+        loginThrottle.acquire("jonh.doe@example.com", "10.0.0.1");
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("jonh.doe@example.com", "10.0.0.1"));
+        }
+
+        assertDoesNotThrow(() -> loginThrottle.acquire("jane.doe@example.com", "10.0.0.1"));
+        assertEquals(0, meterRegistry.get("login.throttle.rejected").tag("key", "address").counter().count());
+    }
+
+    @Test
+    void should_notChargeEmailOrAddress_whenLoginSucceeds() {
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> loginThrottle.acquire("jonh.doe@example.com", "10.0.0.1"));
+            loginThrottle.refund("JONH.DOE@example.com", "10.0.0.1");
+        }
+
+        loginThrottle.acquire("jonh.doe@example.com", "10.0.0.1");
+        loginThrottle.acquire("jonh.doe@example.com", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("jonh.doe@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void should_allowEverything_whenDisabled() {
+        LoginThrottle disabledThrottle = new LoginThrottle(false,
+                new LoginThrottle.Limit(1, Duration.ofMinutes(1)),
+                new LoginThrottle.Limit(1, Duration.ofMinutes(1)),
+                1000, meterRegistry, now::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> disabledThrottle.acquire("jonh.doe@example.com", "10.0.0.1"));
+        }
+    }
+
+}
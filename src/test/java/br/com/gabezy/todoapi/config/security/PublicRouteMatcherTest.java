@@ -0,0 +1,80 @@
+package br.com.gabezy.todoapi.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicRouteMatcherTest {
+
+    private final PublicRouteMatcher publicRouteMatcher = new PublicRouteMatcher();
+
+    @Test
+    void should_matchPublicRoutes_forAnyMethod() {
+        assertTrue(publicRouteMatcher.matches(request("GET", "/swagger-ui.html")));
+        assertTrue(publicRouteMatcher.matches(request("GET", "/swagger-ui/index.html")));
+        assertTrue(publicRouteMatcher.matches(request("GET", "/v3/api-docs")));
+        assertTrue(publicRouteMatcher.matches(request("GET", "/v3/api-docs/swagger-config")));
+        assertTrue(publicRouteMatcher.matches(request("GET", "/actuator/health")));
+    }
+
+    @Test
+    void should_matchPublicPostRoutes_onlyExactlyAndForPost() {
+        assertTrue(publicRouteMatcher.matches(request("POST", "/auth")));
+        assertTrue(publicRouteMatcher.matches(request("POST", "/auth/refresh")));
+        assertTrue(publicRouteMatcher.matches(request("POST", "/users")));
+
+        assertFalse(publicRouteMatcher.matches(request("GET", "/users")));
+        assertFalse(publicRouteMatcher.matches(request("POST", "/auth/logout")));
+        assertFalse(publicRouteMatcher.matches(request("POST", "/users/1")));
+    }
+
+    @Test
+    void should_notMatch_routesThatOnlyShareAPrefix() {
+        assertFalse(publicRouteMatcher.matches(request("GET", "/tasks")));
+        assertFalse(publicRouteMatcher.matches(request("GET", "/swagger-uiX")));
+        assertFalse(publicRouteMatcher.matches(request("GET", "/actuator/env")));
+        assertFalse(publicRouteMatcher.matches(request("GET", "/")));
+    }
+
+    @Test
+    void should_stripContextPath() {
+        MockHttpServletRequest request = request("POST", "/api/auth");
+        request.setContextPath("/api");
+
+        assertTrue(publicRouteMatcher.matches(request));
+    }
+
+    @Test
+    void should_notAllocate_perRequest() {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MockHttpServletRequest[] requests = {
+                request("GET", "/swagger-ui/index.html"),
+                request("POST", "/auth/refresh"),
+                request("GET", "/tasks/10"),
+                request("POST", "/auth/logout")
+        };
+
+        int iterations = 100_000;
+        int matches = 0;
+        for (int i = 0; i < iterations; i++) {
+            matches += publicRouteMatcher.matches(requests[i & 3]) ? 1 : 0;
+        }
+
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            matches += publicRouteMatcher.matches(requests[i & 3]) ? 1 : 0;
+        }
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        assertEquals(iterations, matches);
+        assertTrue(allocated < 1024, "Expected no per-request allocation but measured " + allocated + " bytes");
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+}
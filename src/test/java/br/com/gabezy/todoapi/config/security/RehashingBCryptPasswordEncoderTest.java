@@ -0,0 +1,33 @@
+package br.com.gabezy.todoapi.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RehashingBCryptPasswordEncoderTest {
+
+    private final RehashingBCryptPasswordEncoder passwordEncoder = new RehashingBCryptPasswordEncoder(5);
+
+    @Test
+    void should_notUpgrade_whenCostMatches() {
+        assertFalse(passwordEncoder.upgradeEncoding(passwordEncoder.encode("secret")));
+    }
+
+    @Test
+    void should_upgrade_whenCostIsLower() {
+        assertTrue(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+    }
+
+    @Test
+    void should_notUpgrade_whenCostIsHigher() {
+        assertFalse(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    void should_notUpgrade_whenHashIsNotBCrypt() {
+        assertFalse(passwordEncoder.upgradeEncoding(null));
+        assertFalse(passwordEncoder.upgradeEncoding("plain"));
+    }
+
+}
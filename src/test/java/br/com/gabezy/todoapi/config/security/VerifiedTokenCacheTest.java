@@ -0,0 +1,71 @@
+package br.com.gabezy.todoapi.config.security;
+
+import br.com.gabezy.todoapi.domain.detail.VerifiedToken;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache(100);
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void should_verifyOnlyOnce_whenSameTokenIsRequestedTwice() {
+        Function<String, VerifiedToken> verifier = verifierExpiringAt(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        VerifiedToken first = verifiedTokenCache.get("token", verifier);
+        VerifiedToken second = verifiedTokenCache.get("token", verifier);
+
+        assertEquals("user@example.com", second.subject());
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1, verifiedTokenCache.stats().hitCount());
+        assertEquals(1, verifiedTokenCache.stats().missCount());
+    }
+
+    @Test
+    void should_verifyAgain_whenCachedTokenIsAlreadyExpired() {
+        Function<String, VerifiedToken> verifier = verifierExpiringAt(Instant.now().minus(1, ChronoUnit.MINUTES));
+
+        verifiedTokenCache.get("token", verifier);
+        verifiedTokenCache.get("token", verifier);
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void should_notCacheToken_whenVerificationFails() {
+        Function<String, VerifiedToken> verifier = token -> {
+            verifications.incrementAndGet();
+            throw new JWTVerificationException("Invalid or expired token");
+        };
+
+        assertThrows(JWTVerificationException.class, () -> verifiedTokenCache.get("token", verifier));
+        assertThrows(JWTVerificationException.class, () -> verifiedTokenCache.get("token", verifier));
+
+        assertEquals(2, verifications.get());
+    }
+
+    private Function<String, VerifiedToken> verifierExpiringAt(Instant expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken("user@example.com", "token-id", Instant.now(), expiresAt, null, null);
+        };
+    }
+
+}
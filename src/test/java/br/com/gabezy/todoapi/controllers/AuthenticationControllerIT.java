@@ -2,11 +2,14 @@ package br.com.gabezy.todoapi.controllers;
 
 import br.com.gabezy.todoapi.GenericIntegrationTestBase;
 import br.com.gabezy.todoapi.domain.dto.LoginDTO;
+import br.com.gabezy.todoapi.domain.dto.RefreshTokenDTO;
+import br.com.gabezy.todoapi.domain.dto.TokenDTO;
 import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.jdbc.JdbcTestUtils;
 import org.springframework.test.web.servlet.RequestBuilder;
@@ -15,6 +18,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -92,8 +96,103 @@ class AuthenticationControllerIT extends GenericIntegrationTestBase {
                 .andExpect(jsonPath("$.fields", any(Map.class)));
     }
 
+    @Test
+    void should_rehashPassword_whenStoredCostIsLowerThanConfigured() throws Exception {
+        String weakPassword = new BCryptPasswordEncoder(4).encode("password123");
+        jdbcTemplate.update("UPDATE users SET PASSWORD = ? WHERE IDT_USER = 1", weakPassword);
+
+        RequestBuilder postRequestBuilder = MockMvcRequestBuilders.post("/auth")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginDTO("jonh.doe@example.com", "password123")));
+
+        mockMvc.perform(postRequestBuilder)
+                .andExpect(status().isOk());
+
+        String storedPassword = jdbcTemplate.queryForObject("SELECT PASSWORD FROM users WHERE IDT_USER = 1", String.class);
+
+        assertNotEquals(weakPassword, storedPassword);
+        assertFalse(passwordEncoder.upgradeEncoding(storedPassword));
+        assertTrue(passwordEncoder.matches("password123", storedPassword));
+    }
+
+    @Test
+    void should_refreshTokens_andRejectReusedRefreshToken() throws Exception {
+        LoginDTO loginDTO = new LoginDTO("jonh.doe@example.com", "password123");
+
+        RequestBuilder postRequestBuilder = MockMvcRequestBuilders.post("/auth")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginDTO));
+
+        String loginResponse = mockMvc.perform(postRequestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken", any(String.class)))
+                .andReturn().getResponse().getContentAsString();
+
+        TokenDTO tokenDTO = objectMapper.readValue(loginResponse, TokenDTO.class);
+
+        RequestBuilder refreshRequestBuilder = MockMvcRequestBuilders.post("/auth/refresh")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenDTO(tokenDTO.refreshToken())));
+
+        mockMvc.perform(refreshRequestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", any(String.class)))
+                .andExpect(jsonPath("$.refreshToken", not(is(tokenDTO.refreshToken()))));
+
+        mockMvc.perform(refreshRequestBuilder)
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void should_response_401Unauthorized_whenRefreshWithUnknownToken() throws Exception {
+        RequestBuilder refreshRequestBuilder = MockMvcRequestBuilders.post("/auth/refresh")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenDTO("unknown")));
+
+        mockMvc.perform(refreshRequestBuilder)
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void should_revokeTokens_onLogout() throws Exception {
+        LoginDTO loginDTO = new LoginDTO("jonh.doe@example.com", "password123");
+
+        RequestBuilder postRequestBuilder = MockMvcRequestBuilders.post("/auth")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginDTO));
+
+        String loginResponse = mockMvc.perform(postRequestBuilder)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        TokenDTO tokenDTO = objectMapper.readValue(loginResponse, TokenDTO.class);
+
+        RequestBuilder logoutRequestBuilder = MockMvcRequestBuilders.post("/auth/logout")
+                .header("Authorization", "Bearer " + tokenDTO.token())
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenDTO(tokenDTO.refreshToken())));
+
+        mockMvc.perform(logoutRequestBuilder)
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks")
+                        .header("Authorization", "Bearer " + tokenDTO.token()))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/auth/refresh")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDTO(tokenDTO.refreshToken()))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void should_response_401Unauthorized_whenLogoutWithoutToken() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/auth/logout"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @AfterEach
     void cleanUp() {
-        JdbcTestUtils.deleteFromTables(jdbcTemplate, "user_role", "users", "roles");
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "token_revocations", "user_role", "users", "roles");
     }
 }
\ No newline at end of file
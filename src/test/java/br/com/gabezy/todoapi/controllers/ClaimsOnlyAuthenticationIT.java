@@ -0,0 +1,129 @@
+package br.com.gabezy.todoapi.controllers;
+
+import br.com.gabezy.todoapi.GenericIntegrationTestBase;
+import br.com.gabezy.todoapi.config.security.JwtKeyRing;
+import br.com.gabezy.todoapi.config.security.PrincipalCache;
+import br.com.gabezy.todoapi.domain.dto.CreateUserDTO;
+import br.com.gabezy.todoapi.domain.dto.LoginDTO;
+import br.com.gabezy.todoapi.domain.dto.TaskDTO;
+import br.com.gabezy.todoapi.repositories.UserRespository;
+import br.com.gabezy.todoapi.services.AuthenticationService;
+import br.com.gabezy.todoapi.services.UserService;
+import com.auth0.jwt.JWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.LOCATION;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = "todo-api.jwt-claims-only=true")
+@Sql(scripts = "classpath:/scripts/task/clean_task.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ClaimsOnlyAuthenticationIT extends GenericIntegrationTestBase {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @MockitoSpyBean
+    private UserRespository userRespository;
+
+    private Long userId;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("INSERT INTO roles (IDT_ROLE, NAME) VALUES (1, 'USER')");
+
+        userId = userService.createUser(new CreateUserDTO("jonh.doe@example.com", "password")).getId();
+
+        token = authenticationService.authenticate(new LoginDTO("jonh.doe@example.com", "password"), "127.0.0.1").token();
+
+        principalCache.invalidate("jonh.doe@example.com");
+        clearInvocations(userRespository);
+    }
+
+    @Test
+    void should_authenticateFromTokenClaims_withoutLoadingTheUser() throws Exception {
+        jdbcTemplate.execute(String.format(
+                "INSERT INTO tasks (IDT_TASK, CONTENT, COMPLETED, IDT_USER) VALUES (2, 'Learn Docker', 0, %d)", userId));
+
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks/{id}", 2)
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", is("Learn Docker")));
+
+        verify(userRespository, never()).findByEmail(any());
+        verify(userRespository, never()).findById(any());
+    }
+
+    @Test
+    void should_createTaskOwnedByTheClaimsPrincipal() throws Exception {
+        TaskDTO taskDTO = new TaskDTO("Learn Kubernetes", Boolean.FALSE);
+
+        RequestBuilder postRequest = MockMvcRequestBuilders.post("/tasks")
+                .header(AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskDTO));
+
+        mockMvc.perform(postRequest)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(LOCATION, containsString("/tasks/")));
+
+        Long owner = jdbcTemplate.queryForObject(
+                "SELECT IDT_USER FROM tasks WHERE CONTENT = 'Learn Kubernetes'", Long.class);
+
+        assertEquals(userId, owner);
+        verify(userRespository, never()).findByEmail(any());
+    }
+
+    @Test
+    void should_return401Unauthorized_whenTokenClaimsAnUnknownRole() throws Exception {
+        JwtKeyRing.SigningKey signingKey = keyRing.getActiveKey();
+        String tokenWithUnknownRole = JWT.create()
+                .withKeyId(signingKey.keyId())
+                .withJWTId(UUID.randomUUID().toString())
+                .withIssuer("issuer")
+                .withIssuedAt(Instant.now())
+                .withExpiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .withSubject("jonh.doe@example.com")
+                .withClaim("uid", userId)
+                .withClaim("roles", List.of("SUPERVISOR"))
+                .sign(signingKey.algorithm());
+
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks")
+                .header(AUTHORIZATION, "Bearer " + tokenWithUnknownRole);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isUnauthorized());
+    }
+
+}
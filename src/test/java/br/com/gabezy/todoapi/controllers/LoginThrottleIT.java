@@ -0,0 +1,62 @@
+package br.com.gabezy.todoapi.controllers;
+
+import br.com.gabezy.todoapi.GenericIntegrationTestBase;
+import br.com.gabezy.todoapi.domain.dto.LoginDTO;
+import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = {
+        "todo-api.login-throttle.enabled=true",
+        "todo-api.login-throttle.email.capacity=2",
+        "todo-api.login-throttle.email.refill-period=1m",
+        "todo-api.login-throttle.address.capacity=3",
+        "todo-api.login-throttle.address.refill-period=1m"
+})
+class LoginThrottleIT extends GenericIntegrationTestBase {
+
+    @Test
+    void should_response_429TooManyRequests_whenLoginAttemptsExceedEmailLimit() throws Exception {
+        RequestBuilder postRequestBuilder = MockMvcRequestBuilders.post("/auth")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginDTO("throttled@example.com", "wrong-password")));
+
+        mockMvc.perform(postRequestBuilder)
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(postRequestBuilder)
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(postRequestBuilder)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(RETRY_AFTER, "30"))
+                .andExpect(jsonPath("$.code", is(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS.name())));
+    }
+
+    @Test
+    void should_throttleEachForwardedClientAddressSeparately() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(loginRequest("sprayed" + i + "@example.com", "203.0.113.1"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(loginRequest("sprayed3@example.com", "203.0.113.1"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(loginRequest("sprayed3@example.com", "203.0.113.2"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private RequestBuilder loginRequest(String email, String forwardedFor) throws Exception {
+        return MockMvcRequestBuilders.post("/auth")
+                .header("X-Forwarded-For", forwardedFor)
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginDTO(email, "wrong-password")));
+    }
+
+}
@@ -0,0 +1,66 @@
+package br.com.gabezy.todoapi.controllers;
+
+import br.com.gabezy.todoapi.GenericIntegrationTestBase;
+import br.com.gabezy.todoapi.domain.dto.LoginDTO;
+import br.com.gabezy.todoapi.domain.enumaration.RoleName;
+import br.com.gabezy.todoapi.services.RoleService;
+import br.com.gabezy.todoapi.utils.AuthenticationUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RoleControllerIT extends GenericIntegrationTestBase {
+
+    private static final String INSERT_USERS_SCRIPT = "classpath:/scripts/user/insert_users.sql";
+    private static final String CLEAN_USERS_SCRIPT = "classpath:/scripts/user/clean_users.sql";
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
+    @Autowired
+    private RoleService roleService;
+
+    private LoginDTO loginDTO;
+
+    @BeforeEach
+    void setUp() {
+        loginDTO = new LoginDTO("user@example.com", "pass");
+    }
+
+    @Test
+    @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void should_refreshRolesAndReturn204NoContent_whenPassAdministratorToken() throws Exception {
+        String token = authenticationUtils.generateTokenForAdministrator(jdbcTemplate, loginDTO).token();
+
+        RequestBuilder postRequest = MockMvcRequestBuilders.post("/roles/refresh")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(postRequest)
+                .andExpect(status().isNoContent());
+
+        assertEquals(2L, roleService.findByName(RoleName.ADMINISTRATOR).getId());
+    }
+
+    @Test
+    @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void should_throw403Forbidden_whenRefreshPassingUserToken() throws Exception {
+        String token = authenticationUtils.generateTokenForUser(jdbcTemplate, loginDTO).token();
+
+        RequestBuilder postRequest = MockMvcRequestBuilders.post("/roles/refresh")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(postRequest)
+                .andExpect(status().isForbidden());
+    }
+
+}
@@ -3,29 +3,42 @@ package br.com.gabezy.todoapi.controllers;
 import br.com.gabezy.todoapi.GenericIntegrationTestBase;
 import br.com.gabezy.todoapi.domain.dto.CreateUserDTO;
 import br.com.gabezy.todoapi.domain.dto.LoginDTO;
+import br.com.gabezy.todoapi.domain.dto.TaskBulkDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskCompletedDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskDTO;
+import br.com.gabezy.todoapi.domain.dto.TaskDataDTO;
 import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
 import br.com.gabezy.todoapi.repositories.TaskRespository;
 import br.com.gabezy.todoapi.services.AuthenticationService;
+import br.com.gabezy.todoapi.services.TaskIndexService;
 import br.com.gabezy.todoapi.services.UserService;
+import br.com.gabezy.todoapi.utils.StatementCounter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.HttpHeaders.LOCATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @Sql(scripts = "classpath:/scripts/task/clean_task.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -40,6 +53,12 @@ class TaskControllerIT extends GenericIntegrationTestBase {
     @Autowired
     private TaskRespository taskRespository;
 
+    @Autowired
+    private TaskIndexService taskIndexService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private String token;
 
     private static final String INSERT_TASKS_SCRIPT = "src/test/resources/scripts/task/insert_task.sql";
@@ -54,7 +73,7 @@ class TaskControllerIT extends GenericIntegrationTestBase {
 
         LoginDTO loginDTO = new LoginDTO("jonh.doe@example.com", "password");
 
-        token = authenticationService.authenticate(loginDTO).token();
+        token = authenticationService.authenticate(loginDTO, "127.0.0.1").token();
 
         String tasksSql = Files.readString(Paths.get(INSERT_TASKS_SCRIPT))
                 .replace("{USER_ID_1}", user1Id.toString())
@@ -140,6 +159,61 @@ class TaskControllerIT extends GenericIntegrationTestBase {
                 .andExpect(jsonPath("$.totalElements", is(4)));
     }
 
+    @Test
+    void should_getTasksSliceFromLoggedUser_withoutTotal() throws Exception {
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks/slice")
+                .header(AUTHORIZATION, "Bearer " + token)
+                .param("page", "1")
+                .param("size", "2");
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.last", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void should_walkAllTasksFromLoggedUser_byCursor() throws Exception {
+        RequestBuilder firstPageRequest = MockMvcRequestBuilders.get("/tasks")
+                .header(AUTHORIZATION, "Bearer " + token)
+                .param("cursor", "")
+                .param("size", "3");
+
+        String firstPage = mockMvc.perform(firstPageRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[*].id", contains(2, 4, 5)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        RequestBuilder secondPageRequest = MockMvcRequestBuilders.get("/tasks")
+                .header(AUTHORIZATION, "Bearer " + token)
+                .param("cursor", nextCursor)
+                .param("size", "3");
+
+        mockMvc.perform(secondPageRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(7)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void should_return400BadRequest_whenCursorIsInvalid() throws Exception {
+        ErrorCode errorCode = ErrorCode.INVALID_CURSOR;
+
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks")
+                .header(AUTHORIZATION, "Bearer " + token)
+                .param("cursor", "not-a-cursor!");
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is(errorCode.name())));
+    }
+
     @Test
     void should_getAndReturnAllTaskPageFromLoggedUserSortedByContent() throws Exception {
         RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks")
@@ -168,9 +242,9 @@ class TaskControllerIT extends GenericIntegrationTestBase {
         mockMvc.perform(getRequest)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[*].content", everyItem(any(String.class))))
-                .andExpect(jsonPath("$[*].completed", everyItem(is(Boolean.TRUE))));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[*].content", everyItem(any(String.class))))
+                .andExpect(jsonPath("$.content[*].completed", everyItem(is(Boolean.TRUE))));
     }
 
     @Test
@@ -182,10 +256,139 @@ class TaskControllerIT extends GenericIntegrationTestBase {
         mockMvc.perform(getRequest)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[*].content", everyItem(containsStringIgnoringCase("learn"))))
+                .andExpect(jsonPath("$.content[*].completed", everyItem(any(Boolean.class))));
+    }
+
+    @Test
+    void should_searchTasksFromLoggedUser_throughSearchIndex() throws Exception {
+        taskIndexService.rebuild();
+
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks/filter")
+                .queryParam("content", "JIRA issue")
+                .queryParam("mode", "INDEX")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0:2].id", containsInAnyOrder(4, 7)))
+                .andExpect(jsonPath("$.content[2].id").value(5));
+    }
+
+    @Test
+    void should_pageFilteredTasksFromLoggedUser_orderedById() throws Exception {
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks/filter")
+                .queryParam("page", "1")
+                .queryParam("size", "2")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(5, 7)))
+                .andExpect(jsonPath("$.totalElements", is(4)));
+    }
+
+    @Test
+    void should_streamFilteredTasksFromLoggedUser_asNewlineDelimitedJson() throws Exception {
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks/filter/stream")
+                .queryParam("content", "issue")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        MvcResult asyncResult = mockMvc.perform(getRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<TaskDataDTO> tasks = body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, TaskDataDTO.class);
+                    } catch (JsonProcessingException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                })
+                .toList();
+
+        assertEquals(List.of(4L, 5L, 7L), tasks.stream().map(TaskDataDTO::id).toList());
+        assertTrue(body.endsWith("\n"));
+    }
+
+    @Test
+    void should_suggestTaskContentsFromLoggedUser_byPrefix() throws Exception {
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks/suggest")
+                .queryParam("prefix", "fix jira")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]").value("Fix jira issue #211321"))
+                .andExpect(jsonPath("$[1]").value("Fix jira issue #front-end123213"));
+
+        RequestBuilder learnRequest = MockMvcRequestBuilders.get("/tasks/suggest")
+                .queryParam("prefix", "learn")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(learnRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0]").value("Learn Docker"));
+    }
+
+    @Test
+    void should_suggestUpdatedTaskContent_afterTaskIsUpdated() throws Exception {
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks/suggest")
+                .queryParam("prefix", "kubernetes")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        RequestBuilder putRequest = MockMvcRequestBuilders.put("/tasks/{id}", 2)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskDTO("Learn Kubernetes", Boolean.FALSE)))
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(putRequest)
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[*].content", everyItem(containsStringIgnoringCase("learn"))))
-                .andExpect(jsonPath("$[*].completed", everyItem(any(Boolean.class))));
+                .andExpect(jsonPath("$[0]").value("Learn Kubernetes"));
+
+        RequestBuilder learnRequest = MockMvcRequestBuilders.get("/tasks/suggest")
+                .queryParam("prefix", "learn")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(learnRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0]").value("Learn Kubernetes"));
     }
+
+    @Test
+    void should_fallbackToSubstringSearch_whenFullTextTermIsTooShort() throws Exception {
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks/filter")
+                .queryParam("content", "ji")
+                .queryParam("mode", "FULLTEXT")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[*].content", everyItem(containsStringIgnoringCase("ji"))));
+    }
+
     @Test
     void should_getAndReturnListOfTasksLoggedUser_withCompletedEqualsTrueAndContentEqualsIssue() throws Exception {
         RequestBuilder getRequest = MockMvcRequestBuilders.get("/tasks/filter")
@@ -196,9 +399,9 @@ class TaskControllerIT extends GenericIntegrationTestBase {
         mockMvc.perform(getRequest)
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[*].content", everyItem(containsStringIgnoringCase("issue"))))
-                .andExpect(jsonPath("$[*].completed", everyItem(is(Boolean.TRUE))));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[*].content", everyItem(containsStringIgnoringCase("issue"))))
+                .andExpect(jsonPath("$.content[*].completed", everyItem(is(Boolean.TRUE))));
     }
 
     @Test
@@ -212,10 +415,78 @@ class TaskControllerIT extends GenericIntegrationTestBase {
 
         mockMvc.perform(postRequestBuilder)
                 .andExpect(status().isCreated())
-                .andExpect(header().string(LOCATION, containsString("tasks/1")));
+                .andExpect(header().string(LOCATION, matchesPattern(".*/tasks/\\d+")));
 
     }
 
+    @Test
+    void should_createTasksInBulk_andReturnTheirIdsInOrder() throws Exception {
+        List<TaskDTO> tasks = List.of(
+                new TaskDTO("Learn spring batch", Boolean.FALSE),
+                new TaskDTO("Learn hibernate", Boolean.TRUE),
+                new TaskDTO("Learn flyway", Boolean.FALSE));
+
+        MvcResult result = mockMvc.perform(bulkPostRequest(tasks))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andReturn();
+
+        List<Long> ids = List.of(objectMapper.readValue(result.getResponse().getContentAsString(), Long[].class));
+
+        for (int i = 0; i < ids.size(); i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/tasks/" + ids.get(i))
+                            .header(AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", is(tasks.get(i).content())))
+                    .andExpect(jsonPath("$.completed", is(tasks.get(i).completed())));
+        }
+    }
+
+    @Test
+    void should_createTasksInBulkWithSameStatementCount_whateverTheNumberOfTasks() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // the first request may have to allocate a block of ids
+        mockMvc.perform(bulkPostRequest(bulkTasks(1))).andExpect(status().isCreated());
+
+        StatementCounter.start();
+        mockMvc.perform(bulkPostRequest(bulkTasks(5))).andExpect(status().isCreated());
+        long fewTasksStatements = StatementCounter.stop();
+
+        statistics.clear();
+        StatementCounter.start();
+        mockMvc.perform(bulkPostRequest(bulkTasks(100))).andExpect(status().isCreated());
+
+        assertEquals(fewTasksStatements, StatementCounter.stop());
+        assertEquals(100, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void should_throw400BadRequest_whenBulkCreateHasNoTasks() throws Exception {
+        ErrorCode errorCode = ErrorCode.INVALID_FIELDS;
+
+        mockMvc.perform(bulkPostRequest(List.of()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is(errorCode.name())))
+                .andExpect(jsonPath("$.fields", any(Map.class)));
+    }
+
+    @Test
+    void should_throw400BadRequest_andCreateNoTask_whenBulkCreateHasAnInvalidTask() throws Exception {
+        long tasksBefore = taskRespository.count();
+        List<TaskDTO> tasks = List.of(
+                new TaskDTO("Learn spring batch", Boolean.FALSE),
+                new TaskDTO("", null));
+
+        ErrorCode errorCode = ErrorCode.INVALID_FIELDS;
+
+        mockMvc.perform(bulkPostRequest(tasks))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is(errorCode.name())))
+                .andExpect(jsonPath("$.fields", any(Map.class)));
+
+        assertEquals(tasksBefore, taskRespository.count());
+    }
+
     @Test
     void should_throw_400_badRequest_post_invalid_data_task() throws Exception {
         TaskDTO task = new TaskDTO("", null);
@@ -419,4 +690,17 @@ class TaskControllerIT extends GenericIntegrationTestBase {
         assertTrue(taskRespository.findById(otherUserTaskId).isPresent());
     }
 
-}
\ No newline at end of file
+    private RequestBuilder bulkPostRequest(List<TaskDTO> tasks) throws JsonProcessingException {
+        return MockMvcRequestBuilders.post("/tasks/bulk")
+                .header(AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskBulkDTO(tasks)));
+    }
+
+    private static List<TaskDTO> bulkTasks(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new TaskDTO("Bulk task " + i, Boolean.FALSE))
+                .toList();
+    }
+
+}
@@ -9,9 +9,13 @@ import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
 import br.com.gabezy.todoapi.domain.enumaration.RoleName;
 import br.com.gabezy.todoapi.repositories.UserRespository;
 import br.com.gabezy.todoapi.utils.AuthenticationUtils;
+import br.com.gabezy.todoapi.utils.StatementCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.jdbc.Sql;
@@ -169,6 +173,65 @@ class UserControllerIT extends GenericIntegrationTestBase {
                 .andExpect(jsonPath("$.content[2].email", is("gabriel.doe@email.com")));
     }
 
+    @Test
+    @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void should_findAllWithSameStatementCount_whateverThePageSize() throws Exception {
+        String token = authenticationUtils.generateTokenForAdministrator(jdbcTemplate, loginDTO).token();
+        jdbcTemplate.execute("INSERT INTO users (IDT_USER, EMAIL, PASSWORD, CREATED_AT) " +
+                "SELECT X, CONCAT('bulk', X, '@email.com'), 'secret', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(100, 199)");
+        jdbcTemplate.execute("INSERT INTO user_role (IDT_USER, IDT_ROLE) SELECT X, 1 FROM SYSTEM_RANGE(100, 199)");
+
+        StatementCounter.start();
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .header(AUTHORIZATION, "Bearer " + token)
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(5)));
+        long smallPageStatements = StatementCounter.stop();
+
+        StatementCounter.start();
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .header(AUTHORIZATION, "Bearer " + token)
+                        .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(100)))
+                .andExpect(jsonPath("$.content[99].roles", hasSize(1)));
+
+        assertEquals(smallPageStatements, StatementCounter.stop());
+    }
+
+    @Test
+    @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void should_findAllAndReturnUsersSliceWithoutTotal_whenPassAdministratorToken() throws Exception {
+        String token = authenticationUtils.generateTokenForAdministrator(jdbcTemplate, loginDTO).token();
+
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/users/slice")
+                .header(AUTHORIZATION, "Bearer " + token)
+                .param("page", "0")
+                .param("size", "5");
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(5)))
+                .andExpect(jsonPath("$.last", is(false)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void should_throw403Forbidden_whenFindAllSlicePassingUserToken() throws Exception {
+        String token = authenticationUtils.generateTokenForUser(jdbcTemplate, loginDTO).token();
+
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/users/slice")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
@@ -182,6 +245,79 @@ class UserControllerIT extends GenericIntegrationTestBase {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void should_filterUsersPagedAndWithoutDuplicates_whenPassAdministratorToken() throws Exception {
+        String token = authenticationUtils.generateTokenForAdministrator(jdbcTemplate, loginDTO).token();
+        jdbcTemplate.execute("INSERT INTO user_role (IDT_USER, IDT_ROLE) VALUES (10, 2)");
+
+        RequestBuilder emailAndRoleRequest = MockMvcRequestBuilders.get("/users/filter")
+                .queryParam("email", "DOE")
+                .queryParam("roleName", RoleName.USER.name())
+                .queryParam("size", "4")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(emailAndRoleRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(10, 11, 12, 13)))
+                .andExpect(jsonPath("$.content[0].roles", hasSize(2)))
+                .andExpect(jsonPath("$.totalElements", is(6)));
+
+        RequestBuilder roleRequest = MockMvcRequestBuilders.get("/users/filter")
+                .queryParam("roleName", RoleName.ADMINISTRATOR.name())
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(roleRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].email", contains(loginDTO.email(), "jonh.doe@email.com")));
+
+        RequestBuilder shortEmailRequest = MockMvcRequestBuilders.get("/users/filter")
+                .queryParam("email", "Do")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(shortEmailRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(10, 11, 12, 13, 14, 15, 16)));
+    }
+
+    @Test
+    @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void should_findUserByNewEmailOnly_whenFilterByEmailAfterUpdate() throws Exception {
+        String token = authenticationUtils.generateTokenForUser(jdbcTemplate, loginDTO).token();
+
+        UpdateUserDTO updateUserDTO = new UpdateUserDTO("renamed@example.com", "newPassword", List.of(RoleName.USER));
+
+        RequestBuilder putRequest = MockMvcRequestBuilders.put("/users/{id}", 1)
+                .header(AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateUserDTO));
+
+        mockMvc.perform(putRequest)
+                .andExpect(status().isNoContent());
+
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+
+        assertEquals(List.of(1L), userRespository.findByEmailContainingAndRoleName("RENAMED@", null, pageable)
+                .map(User::getId)
+                .getContent());
+        assertTrue(userRespository.findByEmailContainingAndRoleName(loginDTO.email(), null, pageable).isEmpty());
+    }
+
+    @Test
+    @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void should_throw403Forbidden_whenFilterPassingUserToken() throws Exception {
+        String token = authenticationUtils.generateTokenForUser(jdbcTemplate, loginDTO).token();
+
+        RequestBuilder getRequest = MockMvcRequestBuilders.get("/users/filter")
+                .header(AUTHORIZATION, "Bearer " + token);
+
+        mockMvc.perform(getRequest)
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
@@ -208,6 +344,27 @@ class UserControllerIT extends GenericIntegrationTestBase {
                 .allMatch(role -> role.getName().equals(RoleName.ADMINISTRATOR)));
     }
 
+    @Test
+    @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void should_updateWithSameStatementCount_whateverTheNumberOfRoles() throws Exception {
+        String token = authenticationUtils.generateTokenForUser(jdbcTemplate, loginDTO).token();
+        // every measured update then starts with the principal evicted by the one before it
+        mockMvc.perform(updateRequest(token, List.of(RoleName.USER))).andExpect(status().isNoContent());
+
+        StatementCounter.start();
+        mockMvc.perform(updateRequest(token, List.of(RoleName.USER)))
+                .andExpect(status().isNoContent());
+        long oneRoleStatements = StatementCounter.stop();
+
+        StatementCounter.start();
+        mockMvc.perform(updateRequest(token, List.of(RoleName.USER, RoleName.ADMINISTRATOR)))
+                .andExpect(status().isNoContent());
+
+        assertEquals(oneRoleStatements, StatementCounter.stop());
+        assertEquals(2, userRespository.findWithRolesByIdIn(List.of(1L)).get(0).getRoles().size());
+    }
+
     @Test
     @Sql(scripts = INSERT_USERS_SCRIPT, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = CLEAN_USERS_SCRIPT, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
@@ -373,4 +530,13 @@ class UserControllerIT extends GenericIntegrationTestBase {
 
     }
 
-}
\ No newline at end of file
+    private RequestBuilder updateRequest(String token, List<RoleName> roles) throws Exception {
+        UpdateUserDTO updateUserDTO = new UpdateUserDTO(loginDTO.email(), loginDTO.password(), roles);
+
+        return MockMvcRequestBuilders.put("/users/{id}", 1)
+                .header(AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateUserDTO));
+    }
+
+}
@@ -0,0 +1,267 @@
+package br.com.gabezy.todoapi.repositories;
+
+import br.com.gabezy.todoapi.domain.entity.User;
+import br.com.gabezy.todoapi.domain.enumaration.RoleName;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every query declared in the repositories against seeded MySQL data and checks its {@code EXPLAIN} output for
+ * full table scans and filesorts. Needs the MySQL from docker-compose ({@code docker compose up db-test}) and runs with
+ * {@code mvn test -Pquery-plan}. The query-plan job of the CI workflow runs it on every pull request.
+ */
+@ActiveProfiles("query-plan")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "todo-api.query-plan", matches = "true")
+class QueryPlanIT {
+
+    private static final String SEEDED_EMAIL_PATTERN = "plan.user%@email.com";
+    private static final int SEEDED_USERS = 1000;
+    private static final int TASKS_PER_USER = 20;
+    private static final int TASK_ID_BLOCK_SIZE = 500;
+
+    private static final List<Class<?>> REPOSITORIES =
+            List.of(TaskRespository.class, TaskDataRepository.class, UserRespository.class, RoleRepository.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskRespository taskRespository;
+
+    @Autowired
+    private UserRespository userRespository;
+
+    private User user;
+
+    @BeforeAll
+    void seed() {
+        cleanUp();
+
+        jdbcTemplate.update("INSERT INTO users (EMAIL, PASSWORD, CREATED_AT) " +
+                "SELECT REPLACE(?, '%', seq.n), 'secret', CURRENT_TIMESTAMP " +
+                "FROM (WITH RECURSIVE numbers (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM numbers WHERE n < ?) " +
+                "SELECT n FROM numbers) seq", SEEDED_EMAIL_PATTERN, SEEDED_USERS);
+
+        jdbcTemplate.update("INSERT INTO user_role (IDT_USER, IDT_ROLE) " +
+                "SELECT u.IDT_USER, r.IDT_ROLE FROM users u JOIN roles r " +
+                "ON r.NAME = IF(MOD(u.IDT_USER, 100) = 0, 'ADMINISTRATOR', 'USER') " +
+                "WHERE u.EMAIL LIKE ?", SEEDED_EMAIL_PATTERN);
+
+        long firstTaskId = reserveTaskIds(SEEDED_USERS * TASKS_PER_USER);
+        jdbcTemplate.update("INSERT INTO tasks (IDT_TASK, CONTENT, COMPLETED, IDT_USER) " +
+                "SELECT ? + ROW_NUMBER() OVER (ORDER BY u.IDT_USER, seq.n) - 1, " +
+                "CONCAT('Fix jira issue #', u.IDT_USER, '-', seq.n), MOD(seq.n, 2), u.IDT_USER " +
+                "FROM users u CROSS JOIN (WITH RECURSIVE numbers (n) AS " +
+                "(SELECT 1 UNION ALL SELECT n + 1 FROM numbers WHERE n < ?) SELECT n FROM numbers) seq " +
+                "WHERE u.EMAIL LIKE ?", firstTaskId, TASKS_PER_USER, SEEDED_EMAIL_PATTERN);
+
+        jdbcTemplate.update("INSERT INTO user_email_trigrams (TRIGRAM, IDT_USER) " +
+                "WITH RECURSIVE positions (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM positions WHERE n < 253) " +
+                "SELECT DISTINCT SUBSTRING(LOWER(u.EMAIL), p.n, 3), u.IDT_USER FROM users u " +
+                "JOIN positions p ON p.n <= CHAR_LENGTH(u.EMAIL) - 2 WHERE u.EMAIL LIKE ?", SEEDED_EMAIL_PATTERN);
+
+        jdbcTemplate.execute("ANALYZE TABLE users, roles, user_role, user_email_trigrams, tasks");
+
+        user = userRespository.findByEmail(SEEDED_EMAIL_PATTERN.replace("%", String.valueOf(SEEDED_USERS / 2)))
+                .orElseThrow();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE EMAIL LIKE ?", SEEDED_EMAIL_PATTERN);
+    }
+
+    /**
+     * Task ids come from id_generators, whose next block ends at NEXT_VAL. Raising it by {@code count} takes the first
+     * {@code count} ids of that block away from the application.
+     *
+     * @return the first of the {@code count} reserved ids
+     */
+    private long reserveTaskIds(int count) {
+        return transactionTemplate.execute(status -> {
+            long nextBlockEnd = jdbcTemplate.queryForObject(
+                    "SELECT NEXT_VAL FROM id_generators WHERE NAME = 'tasks' FOR UPDATE", Long.class);
+            jdbcTemplate.update("UPDATE id_generators SET NEXT_VAL = ? WHERE NAME = 'tasks'", nextBlockEnd + count);
+            return nextBlockEnd - TASK_ID_BLOCK_SIZE + 1;
+        });
+    }
+
+    @Test
+    void should_haveQueryPlanCase_forEveryDeclaredRepositoryQuery() {
+        Set<String> cases = cases().keySet();
+
+        List<String> missing = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .filter(method -> !method.isSynthetic() && Modifier.isPublic(method.getModifiers()))
+                .map(QueryPlanIT::caseName)
+                .distinct()
+                .filter(name -> !cases.contains(name))
+                .toList();
+
+        assertTrue(missing.isEmpty(), "Queries without a query plan case: " + missing);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> should_neitherScanWholeTablesNorFilesort() {
+        return cases().entrySet()
+                .stream()
+                .map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> assertQueryPlan(entry.getValue())));
+    }
+
+    private Map<String, QueryPlanCase> cases() {
+        Pageable firstPageById = PageRequest.of(0, 20, Sort.by("id"));
+
+        Map<String, QueryPlanCase> cases = new LinkedHashMap<>();
+        cases.put("TaskRespository.findDataByIdAndUser", QueryPlanCase.of(
+                () -> taskRespository.findDataByIdAndUser(1L, user)));
+        cases.put("TaskRespository.findDataByIdIn", QueryPlanCase.of(
+                () -> taskRespository.findDataByIdIn(List.of(1L, 2L, 3L))));
+        cases.put("TaskRespository.findAllByUser", QueryPlanCase.of(
+                () -> taskRespository.findAllByUser(user, firstPageById)));
+        cases.put("TaskRespository.findSliceByUser", QueryPlanCase.of(
+                () -> taskRespository.findSliceByUser(user, firstPageById)));
+        cases.put("TaskRespository.findByUserOrderByIdAsc", QueryPlanCase.of(
+                () -> taskRespository.findByUserOrderByIdAsc(user, Limit.of(20))));
+        cases.put("TaskRespository.findByUserAndIdGreaterThanOrderByIdAsc", QueryPlanCase.of(
+                () -> taskRespository.findByUserAndIdGreaterThanOrderByIdAsc(user, 1L, Limit.of(20))));
+        cases.put("TaskDataRepository.findByFilters", QueryPlanCase.of(
+                () -> taskRespository.findByFilters(null, Boolean.TRUE, user, firstPageById),
+                () -> taskRespository.findByFilters("jira", null, user, firstPageById),
+                () -> taskRespository.findByFilters("jira", Boolean.FALSE, user, firstPageById)));
+        // relevance ranking sorts the matches, which is the point of the query
+        cases.put("TaskDataRepository.findByFullTextContent", QueryPlanCase.of(
+                () -> taskRespository.findByFullTextContent("jira issue", null, user.getId(), PageRequest.of(0, 20)),
+                () -> taskRespository.findByFullTextContent("jira issue", Boolean.TRUE, user.getId(), PageRequest.of(0, 20)))
+                .allowingFilesort());
+        cases.put("TaskDataRepository.streamByFilters", QueryPlanCase.of(
+                () -> consume(taskRespository.streamByFilters(null, Boolean.TRUE, user)),
+                () -> consume(taskRespository.streamByFilters("jira", null, user))));
+        cases.put("TaskDataRepository.streamByFullTextContent", QueryPlanCase.of(
+                () -> consume(taskRespository.streamByFullTextContent("jira issue", null, user.getId())))
+                .allowingFilesort());
+        cases.put("TaskRespository.findDataByUserId", QueryPlanCase.of(
+                () -> taskRespository.findDataByUserId(user.getId())));
+        // writes target a task the seeded user does not own, so their plans run without changing any row
+        cases.put("TaskRespository.updateByIdAndUser", QueryPlanCase.of(
+                () -> taskRespository.updateByIdAndUser(1L, user, "Fix jira issue", Boolean.TRUE)));
+        cases.put("TaskRespository.updateCompletedByIdAndUser", QueryPlanCase.of(
+                () -> taskRespository.updateCompletedByIdAndUser(1L, user, Boolean.TRUE)));
+        cases.put("TaskRespository.deleteByIdAndUser", QueryPlanCase.of(
+                () -> taskRespository.deleteByIdAndUser(1L, user)));
+        // rebuilding the search index reads every task on purpose
+        cases.put("TaskRespository.streamAllForIndex", QueryPlanCase.of(
+                () -> consume(taskRespository.streamAllForIndex())).allowingFullScan("t1_0"));
+
+        cases.put("UserRespository.findById", QueryPlanCase.of(
+                () -> userRespository.findById(user.getId())));
+        cases.put("UserRespository.findByEmail", QueryPlanCase.of(
+                () -> userRespository.findByEmail(user.getEmail())));
+        cases.put("UserRespository.findIdsBy", QueryPlanCase.of(
+                () -> userRespository.findIdsBy(firstPageById)));
+        cases.put("UserRespository.findIdSliceBy", QueryPlanCase.of(
+                () -> userRespository.findIdSliceBy(firstPageById)));
+        cases.put("UserRespository.findWithRolesByIdIn", QueryPlanCase.of(
+                () -> userRespository.findWithRolesByIdIn(List.of(user.getId(), user.getId() + 1))));
+        cases.put("UserRespository.findByEmailContainingAndRoleName", QueryPlanCase.of(
+                () -> userRespository.findByEmailContainingAndRoleName("user5", RoleName.USER, firstPageById),
+                () -> userRespository.findByEmailContainingAndRoleName("user5", null, firstPageById)));
+        // terms shorter than a trigram fall back to the LIKE, and without an email filter every user is read
+        cases.put("UserRespository.findByEmailContainingAndRoleName without trigrams", QueryPlanCase.of(
+                () -> userRespository.findByEmailContainingAndRoleName("r5", null, firstPageById),
+                () -> userRespository.findByEmailContainingAndRoleName(null, RoleName.ADMINISTRATOR, firstPageById),
+                () -> userRespository.findByEmailContainingAndRoleName(null, null, firstPageById)).allowingFullScan("u1_0"));
+
+        return cases;
+    }
+
+    private void assertQueryPlan(QueryPlanCase queryPlanCase) {
+        QueryPlanRecorder.start();
+        List<String> statements;
+        try {
+            transactionTemplate.executeWithoutResult(status -> queryPlanCase.invocations().forEach(Runnable::run));
+        } finally {
+            statements = QueryPlanRecorder.stop();
+        }
+        assertFalse(statements.isEmpty(), "No statement was recorded");
+
+        List<String> problems = new ArrayList<>();
+        for (String statement : statements) {
+            for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + statement)) {
+                String table = String.valueOf(row.get("table"));
+                String extra = Objects.toString(row.get("Extra"), "");
+
+                if ("ALL".equals(row.get("type")) && !queryPlanCase.fullScanTables().contains(table)) {
+                    problems.add("full scan of " + table + " in: " + statement);
+                }
+                if (extra.contains("Using filesort") && !queryPlanCase.filesortAllowed()) {
+                    problems.add("filesort on " + table + " in: " + statement);
+                }
+            }
+        }
+
+        assertEquals(List.of(), problems);
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> { });
+        }
+    }
+
+    private static String caseName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private record QueryPlanCase(List<Runnable> invocations, Set<String> fullScanTables, boolean filesortAllowed) {
+
+        static QueryPlanCase of(Runnable... invocations) {
+            return new QueryPlanCase(List.of(invocations), Set.of(), false);
+        }
+
+        /**
+         * @param tableAlias alias Hibernate gives the table in the generated SQL, as reported by {@code EXPLAIN}
+         */
+        QueryPlanCase allowingFullScan(String tableAlias) {
+            return new QueryPlanCase(invocations, Set.of(tableAlias), filesortAllowed);
+        }
+
+        QueryPlanCase allowingFilesort() {
+            return new QueryPlanCase(invocations, fullScanTables, true);
+        }
+    }
+
+}
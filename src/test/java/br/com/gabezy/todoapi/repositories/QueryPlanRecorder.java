@@ -0,0 +1,74 @@
+package br.com.gabezy.todoapi.repositories;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.PreparedQuery;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * Connector/J interceptor that records the SELECT, UPDATE and DELETE statements sent while recording is on, with their parameters
+ * already bound, so they can be run again under {@code EXPLAIN}. Enabled through the {@code queryInterceptors}
+ * property of the JDBC url.
+ */
+public class QueryPlanRecorder implements QueryInterceptor {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static volatile boolean recording;
+
+    public static synchronized void start() {
+        STATEMENTS.clear();
+        recording = true;
+    }
+
+    public static synchronized List<String> stop() {
+        recording = false;
+        return List.copyOf(STATEMENTS);
+    }
+
+    @Override
+    public QueryInterceptor init(MysqlConnection connection, Properties properties, Log log) {
+        return this;
+    }
+
+    @Override
+    public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+        if (recording) {
+            String statement = interceptedQuery instanceof PreparedQuery preparedQuery ? preparedQuery.asSql() : sql.get();
+            if (isExplainable(statement.stripLeading().toLowerCase(Locale.ROOT))) {
+                synchronized (QueryPlanRecorder.class) {
+                    STATEMENTS.add(statement);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isExplainable(String statement) {
+        return statement.startsWith("select") || statement.startsWith("update") || statement.startsWith("delete");
+    }
+
+    @Override
+    public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery, T originalResultSet,
+                                               ServerSession serverSession) {
+        return null;
+    }
+
+    @Override
+    public boolean executeTopLevelOnly() {
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+}
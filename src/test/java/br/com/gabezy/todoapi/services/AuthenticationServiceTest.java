@@ -1,9 +1,14 @@
 package br.com.gabezy.todoapi.services;
 
+import br.com.gabezy.todoapi.config.security.LoginThrottle;
+import br.com.gabezy.todoapi.config.security.PrincipalCache;
 import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
 import br.com.gabezy.todoapi.domain.dto.LoginDTO;
+import br.com.gabezy.todoapi.domain.dto.RefreshTokenDTO;
 import br.com.gabezy.todoapi.domain.dto.TokenDTO;
 import br.com.gabezy.todoapi.domain.entity.User;
+import br.com.gabezy.todoapi.domain.enumaration.ErrorCode;
+import br.com.gabezy.todoapi.exceptions.TooManyRequestsException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,15 +16,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +43,18 @@ class AuthenticationServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -63,13 +83,55 @@ class AuthenticationServiceTest {
         when(authentication.getPrincipal()).thenReturn(new UserDetailsImpl(user));
         when(jwtTokenService.generateToken(any(UserDetails.class)))
                 .thenReturn(token);
+        when(refreshTokenService.issue(user)).thenReturn("refresh-token");
 
-        TokenDTO tokenDTO = authenticationService.authenticate(loginDTO);
+        TokenDTO tokenDTO = authenticationService.authenticate(loginDTO, "127.0.0.1");
 
         assertNotNull(tokenDTO);
         assertEquals(token, tokenDTO.token());
+        assertEquals("refresh-token", tokenDTO.refreshToken());
 
+        verify(loginThrottle).acquire(loginDTO.email(), "127.0.0.1");
+        verify(loginThrottle).refund(loginDTO.email(), "127.0.0.1");
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(principalCache).put(any(UserDetailsImpl.class));
+    }
+
+    @Test
+    void should_notCheckCredentials_whenLoginIsThrottled() {
+        doThrow(new TooManyRequestsException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS, Duration.ofSeconds(10)))
+                .when(loginThrottle).acquire(loginDTO.email(), "127.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> authenticationService.authenticate(loginDTO, "127.0.0.1"));
+
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    void should_refreshTokens_withoutAuthenticatingPassword() {
+        String token = "test.jwt.token";
+
+        when(refreshTokenService.consume("old-refresh-token")).thenReturn(user);
+        when(jwtTokenService.generateToken(any(UserDetails.class))).thenReturn(token);
+        when(refreshTokenService.issue(user)).thenReturn("new-refresh-token");
+
+        TokenDTO tokenDTO = authenticationService.refresh(new RefreshTokenDTO("old-refresh-token"));
+
+        assertEquals(token, tokenDTO.token());
+        assertEquals("new-refresh-token", tokenDTO.refreshToken());
+
+        verify(refreshTokenService).consume("old-refresh-token");
+        verify(principalCache).put(any(UserDetailsImpl.class));
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    void should_throwBadCredentials_whenRefreshTokenIsInvalid() {
+        when(refreshTokenService.consume("invalid")).thenThrow(new BadCredentialsException("Invalid or expired refresh token"));
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.refresh(new RefreshTokenDTO("invalid")));
+
+        verifyNoInteractions(jwtTokenService);
     }
 
-}
\ No newline at end of file
+}
@@ -1,25 +1,37 @@
 package br.com.gabezy.todoapi.services;
 
+import br.com.gabezy.todoapi.config.properties.JwtProperties;
+import br.com.gabezy.todoapi.config.security.JwtKeyRing;
 import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
+import br.com.gabezy.todoapi.domain.detail.VerifiedToken;
 import br.com.gabezy.todoapi.domain.entity.Role;
 import br.com.gabezy.todoapi.domain.entity.User;
 import br.com.gabezy.todoapi.domain.enumaration.RoleName;
+import com.auth0.jwt.JWT;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ContextConfiguration(classes = JwtTokenService.class)
+@ContextConfiguration(classes = {JwtTokenService.class, JwtKeyRing.class, JwtTokenServiceTest.Config.class})
+@TestPropertySource(properties = {"todo-api.jwt-secret=secret", "todo-api.jwt-issuer=issuer", "todo-api.jwt-key-id=test"})
 @ExtendWith(SpringExtension.class)
 class JwtTokenServiceTest {
 
+    @EnableConfigurationProperties(JwtProperties.class)
+    static class Config {
+    }
+
     @Autowired
     private JwtTokenService jwtTokenService;
 
@@ -56,4 +68,25 @@ class JwtTokenServiceTest {
         assertEquals(user.getEmail(), jwtTokenService.getSubjectFromToken(token));
     }
 
-}
\ No newline at end of file
+    @Test
+    void should_verify_token_andExposeItsExpiration() {
+        UserDetails userDetails = new UserDetailsImpl(user);
+
+        String token = jwtTokenService.generateToken(userDetails);
+
+        VerifiedToken verifiedToken = jwtTokenService.verifyToken(token);
+
+        assertEquals(user.getEmail(), verifiedToken.subject());
+        assertTrue(verifiedToken.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void should_sign_token_withActiveKeyId() {
+        UserDetails userDetails = new UserDetailsImpl(user);
+
+        String token = jwtTokenService.generateToken(userDetails);
+
+        assertEquals("test", JWT.decode(token).getKeyId());
+    }
+
+}
@@ -0,0 +1,109 @@
+package br.com.gabezy.todoapi.services;
+
+import br.com.gabezy.todoapi.domain.entity.RefreshToken;
+import br.com.gabezy.todoapi.domain.entity.User;
+import br.com.gabezy.todoapi.repositories.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "timeToLive", Duration.ofDays(14));
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("jonh.doe@example.com");
+    }
+
+    @Test
+    void should_issueToken_andStoreOnlyItsHash() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+
+        String token = refreshTokenService.issue(user);
+
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+
+        assertNotNull(token);
+        assertNotEquals(token, stored.getTokenHash());
+        assertEquals(43, stored.getTokenHash().length());
+        assertEquals(user, stored.getUser());
+        assertTrue(stored.getExpiresAt().isAfter(OffsetDateTime.now().plusDays(13)));
+    }
+
+    @Test
+    void should_consumeToken_andReturnItsOwner() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        String token = refreshTokenService.issue(user);
+        verify(refreshTokenRepository).save(captor.capture());
+        String tokenHash = captor.getValue().getTokenHash();
+
+        when(refreshTokenRepository.findByTokenHash(tokenHash)).thenReturn(Optional.of(captor.getValue()));
+        when(refreshTokenRepository.deleteByTokenHash(tokenHash)).thenReturn(1);
+
+        assertEquals(user, refreshTokenService.consume(token));
+
+        verify(refreshTokenRepository).deleteByTokenHash(tokenHash);
+    }
+
+    @Test
+    void should_rejectToken_whenItWasAlreadyConsumed() {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(OffsetDateTime.now().plusDays(1));
+
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(0);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume("token"));
+    }
+
+    @Test
+    void should_rejectToken_whenItIsExpired() {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(OffsetDateTime.now().minusMinutes(1));
+
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(1);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume("token"));
+    }
+
+    @Test
+    void should_rejectToken_whenItIsUnknown() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume("token"));
+
+        verify(refreshTokenRepository, never()).deleteByTokenHash(any());
+    }
+
+}
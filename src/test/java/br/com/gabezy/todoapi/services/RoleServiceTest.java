@@ -4,16 +4,18 @@ import br.com.gabezy.todoapi.domain.entity.Role;
 import br.com.gabezy.todoapi.domain.enumaration.RoleName;
 import br.com.gabezy.todoapi.exceptions.ResourceNotFoundException;
 import br.com.gabezy.todoapi.repositories.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,30 +24,66 @@ class RoleServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
-    @InjectMocks
     private RoleService roleService;
 
-    @Test
-    void should_find_roleByName() {
-        var roleAdmin = new Role();
-        roleAdmin.setId(1L);
+    private Role roleUser;
+    private Role roleAdmin;
+
+    @BeforeEach
+    void setUp() {
+        roleService = new RoleService(roleRepository, Duration.ofMinutes(1));
+
+        roleUser = new Role();
+        roleUser.setId(1L);
+        roleUser.setName(RoleName.USER);
+
+        roleAdmin = new Role();
+        roleAdmin.setId(2L);
         roleAdmin.setName(RoleName.ADMINISTRATOR);
+    }
+
+    @Test
+    void should_find_roleByName_withoutQueryingAfterTheRegistryIsLoaded() {
+        when(roleRepository.findAll()).thenReturn(List.of(roleUser, roleAdmin));
+        roleService.refresh();
+
+        var role = roleService.findByName(RoleName.ADMINISTRATOR);
+        roleService.findByName(RoleName.USER);
+        roleService.findByName(RoleName.ADMINISTRATOR);
+
+        assertSame(roleAdmin, role);
+        verify(roleRepository, times(1)).findAll();
+    }
 
-        when(roleRepository.findByName(RoleName.ADMINISTRATOR))
-                .thenReturn(Optional.of(roleAdmin));
+    @Test
+    void should_reloadRegistry_whenRoleIsMissing() {
+        when(roleRepository.findAll()).thenReturn(List.of(roleUser)).thenReturn(List.of(roleUser, roleAdmin));
+        roleService.refresh();
 
-        var role = roleService.findByName(RoleName.ADMINISTRATOR)        ;
+        var role = roleService.findByName(RoleName.ADMINISTRATOR);
 
-        assertNotNull(role);
         assertEquals(RoleName.ADMINISTRATOR, role.getName());
+        verify(roleRepository, times(2)).findAll();
     }
 
     @Test
     void should_throw_resourceNotFoundException_find_invalid_roleName() {
-        when(roleRepository.findByName(any(RoleName.class)))
-                .thenReturn(Optional.empty());
+        when(roleRepository.findAll()).thenReturn(List.of());
 
         assertThrowsExactly(ResourceNotFoundException.class,
                 () -> roleService.findByName(RoleName.USER));
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_reloadRegistry_atMostOncePerInterval_whenRoleIsMissingFromDatabase() {
+        when(roleRepository.findAll()).thenReturn(List.of(roleUser));
+        roleService.refresh();
+
+        assertThrowsExactly(ResourceNotFoundException.class,
+                () -> roleService.findByName(RoleName.ADMINISTRATOR));
+        assertThrowsExactly(ResourceNotFoundException.class,
+                () -> roleService.findByName(RoleName.ADMINISTRATOR));
+
+        verify(roleRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.gabezy.todoapi.services;
+
+import br.com.gabezy.todoapi.domain.detail.TaskIndexDocument;
+import br.com.gabezy.todoapi.repositories.TaskRespository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskIndexServiceTest {
+
+    @Mock
+    private TaskRespository taskRespository;
+
+    @TempDir
+    private Path indexPath;
+
+    private TaskIndexService taskIndexService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        taskIndexService = new TaskIndexService(taskRespository, indexPath, 100);
+
+        taskIndexService.index(new TaskIndexDocument(1L, 1L, "Learn Docker compose", false));
+        taskIndexService.index(new TaskIndexDocument(2L, 1L, "Learn Java records", true));
+        taskIndexService.index(new TaskIndexDocument(3L, 2L, "Learn Docker swarm", false));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        taskIndexService.close();
+    }
+
+    @Test
+    void should_searchOnlyUserTasks_rankedByRelevance() {
+        assertEquals(List.of(1L, 2L), taskIndexService.search(1L, "docker learn", null));
+        assertEquals(List.of(3L), taskIndexService.search(2L, "DOCKER", null));
+    }
+
+    @Test
+    void should_filterByCompleted_afterUpdatingOnlyTheDocValue() {
+        assertEquals(List.of(2L), taskIndexService.search(1L, "learn", true));
+
+        taskIndexService.updateCompleted(1L, true);
+
+        assertEquals(2, taskIndexService.search(1L, "learn", true).size());
+    }
+
+    @Test
+    void should_reflectUpdatesAndDeletes() {
+        taskIndexService.index(new TaskIndexDocument(1L, 1L, "Write report", false));
+        taskIndexService.delete(2L);
+
+        assertEquals(List.of(), taskIndexService.search(1L, "learn", null));
+        assertEquals(List.of(1L), taskIndexService.search(1L, "report", null));
+    }
+
+    @Test
+    void should_returnEmpty_whenTextHasNoSearchableTerms() {
+        assertEquals(List.of(), taskIndexService.search(1L, "  ", null));
+    }
+
+    @Test
+    void should_rebuildFromDatabase() {
+        when(taskRespository.streamAllForIndex())
+                .thenReturn(Stream.of(new TaskIndexDocument(10L, 1L, "Deploy app", false)));
+
+        assertEquals(1, taskIndexService.rebuild());
+        assertEquals(List.of(), taskIndexService.search(1L, "learn", null));
+        assertEquals(List.of(10L), taskIndexService.search(1L, "deploy", null));
+    }
+
+    @Test
+    void should_applyWritesMadeDuringRebuild_onTopOfIt() {
+        // the task is renamed by another request while the rebuild streams its old content
+        when(taskRespository.streamAllForIndex())
+                .thenReturn(Stream.of(new TaskIndexDocument(10L, 1L, "Deploy app", false))
+                        .peek(task -> runInOtherThread(
+                                () -> taskIndexService.index(new TaskIndexDocument(10L, 1L, "Release app", false)))));
+
+        taskIndexService.rebuild();
+
+        assertEquals(List.of(), taskIndexService.search(1L, "deploy", null));
+        assertEquals(List.of(10L), taskIndexService.search(1L, "release", null));
+    }
+
+    @Test
+    void should_notIndex_whenTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskIndexService.index(new TaskIndexDocument(4L, 1L, "Deploy app", false));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(), taskIndexService.search(1L, "deploy", null));
+    }
+
+    private static void runInOtherThread(Runnable action) {
+        Thread thread = new Thread(action);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -1,31 +1,45 @@
 package br.com.gabezy.todoapi.services;
 
+import br.com.gabezy.todoapi.domain.detail.TaskIndexDocument;
+import br.com.gabezy.todoapi.domain.dto.CursorPageDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskCompletedDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskDataDTO;
 import br.com.gabezy.todoapi.domain.dto.TaskFilterDTO;
 import br.com.gabezy.todoapi.domain.entity.Task;
 import br.com.gabezy.todoapi.domain.entity.User;
+import br.com.gabezy.todoapi.domain.enumaration.TaskSearchMode;
+import br.com.gabezy.todoapi.exceptions.BadRequestException;
 import br.com.gabezy.todoapi.exceptions.ResourceNotFoundException;
 import br.com.gabezy.todoapi.repositories.TaskRespository;
 import br.com.gabezy.todoapi.utils.AuthenticationUtil;
+import br.com.gabezy.todoapi.utils.CursorUtil;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,16 +48,31 @@ class TaskServiceTest {
     @Mock
     private TaskRespository taskRespository;
 
-    @InjectMocks
+    @Mock
+    private TaskIndexService taskIndexService;
+
+    @Mock
+    private TaskSuggestionService taskSuggestionService;
+
+    @Mock
+    private EntityManager entityManager;
+
     private TaskService taskService;
 
+    private static final Pageable PAGE_BY_ID = PageRequest.of(0, 20, Sort.by("id"));
+
     private User user;
     private Task task1;
     private Task task2;
     private Task task3;
+    private TaskDataDTO taskData1;
+    private TaskDataDTO taskData2;
+    private TaskDataDTO taskData3;
 
     @BeforeEach
     void setUp() {
+        taskService = new TaskService(taskRespository, taskIndexService, taskSuggestionService, entityManager, 2);
+
         user = new User();
         user.setId(1L);
         user.setEmail("user@exampla.com");
@@ -53,16 +82,23 @@ class TaskServiceTest {
         task1.setId(1L);
         task1.setContent("Learn JUnit 5");
         task1.setCompleted(Boolean.FALSE);
+        task1.setUser(user);
 
         task2 = new Task();
         task2.setId(2L);
         task2.setContent("learn Docker");
         task2.setCompleted(Boolean.TRUE);
+        task2.setUser(user);
 
         task3 = new Task();
         task3.setId(3L);
         task3.setContent("Deploy TODO app");
         task3.setCompleted(Boolean.FALSE);
+        task3.setUser(user);
+
+        taskData1 = new TaskDataDTO(task1.getId(), task1.getContent(), task1.getCompleted());
+        taskData2 = new TaskDataDTO(task2.getId(), task2.getContent(), task2.getCompleted());
+        taskData3 = new TaskDataDTO(task3.getId(), task3.getContent(), task3.getCompleted());
     }
 
 
@@ -81,16 +117,44 @@ class TaskServiceTest {
             assertEquals(task1.getCompleted(), result.getCompleted());
 
             verify(taskRespository).save(any(Task.class));
+            verify(taskIndexService).index(any(TaskIndexDocument.class));
+            verify(taskSuggestionService).saved(user.getId(), task1.getId(), "Learn JUnit 5");
             mockedStatic.verify(AuthenticationUtil::getCurrentUser);
         }
     }
 
+    @Test
+    void should_createTasksInBatches_andReturnTheirIdsInOrder() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            when(taskRespository.saveAll(anyList())).thenReturn(List.of(task1, task2), List.of(task3));
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+
+            List<TaskDTO> newTasks = Stream.of(task1, task2, task3)
+                    .map(task -> new TaskDTO(task.getContent(), task.getCompleted()))
+                    .toList();
+
+            List<Long> result = taskService.createTasks(newTasks);
+
+            assertEquals(List.of(task1.getId(), task2.getId(), task3.getId()), result);
+
+            InOrder inOrder = inOrder(taskRespository, entityManager);
+            inOrder.verify(taskRespository).saveAll(argThat(tasks -> tasks.spliterator().getExactSizeIfKnown() == 2));
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+            inOrder.verify(taskRespository).saveAll(argThat(tasks -> tasks.spliterator().getExactSizeIfKnown() == 1));
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+            verify(taskIndexService, times(3)).index(any(TaskIndexDocument.class));
+            verify(taskSuggestionService).saved(user.getId(), task3.getId(), task3.getContent());
+        }
+    }
+
     @Test
     void should_findAllTasks_andReturnUserDataDTOPage() {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
             Pageable pageable = PageRequest.of(0, 5);
-            List<Task> tasks = List.of(task1, task2);
-            Page<Task> taskPage = new PageImpl<>(tasks, pageable, tasks.size());
+            List<TaskDataDTO> tasks = List.of(taskData1, taskData2);
+            Page<TaskDataDTO> taskPage = new PageImpl<>(tasks, pageable, tasks.size());
 
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
             when(taskRespository.findAllByUser(user, pageable)).thenReturn(taskPage);
@@ -109,13 +173,68 @@ class TaskServiceTest {
         }
     }
 
+    @Test
+    void should_findTasksSlice_withoutCounting() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            Pageable pageable = PageRequest.of(0, 2);
+            Slice<TaskDataDTO> taskSlice = new SliceImpl<>(List.of(taskData1, taskData2), pageable, true);
+
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            when(taskRespository.findSliceByUser(user, pageable)).thenReturn(taskSlice);
+
+            Slice<TaskDataDTO> result = taskService.findAllSlice(pageable);
+
+            assertTrue(result.hasNext());
+            assertEquals(2, result.getNumberOfElements());
+            verify(taskRespository, never()).findAllByUser(user, pageable);
+        }
+    }
+
+    @Test
+    void should_findTasksByCursor_andReturnNextCursor_whenThereAreMoreTasks() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            when(taskRespository.findByUserOrderByIdAsc(user, Limit.of(3))).thenReturn(List.of(taskData1, taskData2, taskData3));
+
+            CursorPageDTO<TaskDataDTO> result = taskService.findAllByCursor("", 2);
+
+            assertEquals(2, result.content().size());
+            assertEquals(task2.getId(), result.content().get(1).id());
+            assertEquals(task2.getId(), CursorUtil.decode(result.nextCursor()));
+        }
+    }
+
+    @Test
+    void should_seekAfterCursor_andReturnNullNextCursor_onLastPage() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            when(taskRespository.findByUserAndIdGreaterThanOrderByIdAsc(user, 2L, Limit.of(3))).thenReturn(List.of(taskData3));
+
+            CursorPageDTO<TaskDataDTO> result = taskService.findAllByCursor(CursorUtil.encode(2L), 2);
+
+            assertEquals(1, result.content().size());
+            assertNull(result.nextCursor());
+            verify(taskRespository, never()).findAllByUser(any(User.class), any(Pageable.class));
+        }
+    }
+
+    @Test
+    void should_throwBadRequest_whenCursorIsInvalid() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+
+            assertThrows(BadRequestException.class, () -> taskService.findAllByCursor("not-a-cursor!", 2));
+            verifyNoInteractions(taskRespository);
+        }
+    }
+
     @Test
     void should_find_task_by_id() {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
             Long id = 1L;
 
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
-            when(taskRespository.findByIdAndUser(id, user)).thenReturn(Optional.of(task1));
+            when(taskRespository.findDataByIdAndUser(id, user)).thenReturn(Optional.of(taskData1));
 
             TaskDataDTO result = taskService.findById(id);
 
@@ -123,7 +242,7 @@ class TaskServiceTest {
             assertEquals(task1.getContent(), result.content());
             assertEquals(task1.getCompleted(), result.completed());
 
-            verify(taskRespository).findByIdAndUser(id, user);
+            verify(taskRespository).findDataByIdAndUser(id, user);
             mockedStatic.verify(AuthenticationUtil::getCurrentUser);
         }
     }
@@ -134,12 +253,12 @@ class TaskServiceTest {
             Long id = 1000L;
 
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
-            when(taskRespository.findByIdAndUser(id, user)).thenReturn(Optional.empty());
+            when(taskRespository.findDataByIdAndUser(id, user)).thenReturn(Optional.empty());
 
             assertThrowsExactly(ResourceNotFoundException.class,
                     () -> taskService.findById(id));
 
-            verify(taskRespository).findByIdAndUser(id, user);
+            verify(taskRespository).findDataByIdAndUser(id, user);
             mockedStatic.verify(AuthenticationUtil::getCurrentUser);
         }
     }
@@ -148,19 +267,19 @@ class TaskServiceTest {
     void should_findAndReturnListTasks_byPartialContentFilter() {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
-            TaskFilterDTO filter = new TaskFilterDTO("Learn", null);
+            TaskFilterDTO filter = new TaskFilterDTO("Learn", null, null);
 
-            when(taskRespository.findByFilters(filter.content(), filter.completed(), user))
-                    .thenReturn(List.of(task1, task2));
+            when(taskRespository.findByFilters(filter.content(), filter.completed(), user, PAGE_BY_ID))
+                    .thenReturn(new PageImpl<>(List.of(taskData1, taskData2)));
 
-            List<TaskDataDTO> result = taskService.findByFilter(filter);
+            Page<TaskDataDTO> result = taskService.findByFilter(filter, PageRequest.of(0, 20));
 
             assertNotNull(result);
-            assertEquals(2, result.size());
-            assertTrue(result.stream().allMatch(task ->
+            assertEquals(2, result.getNumberOfElements());
+            assertTrue(result.getContent().stream().allMatch(task ->
                     task.content().toLowerCase().contains(filter.content().toLowerCase())));
 
-            verify(taskRespository).findByFilters(filter.content(), filter.completed(), user);
+            verify(taskRespository).findByFilters(filter.content(), filter.completed(), user, PAGE_BY_ID);
             mockedStatic.verify(AuthenticationUtil::getCurrentUser);
         }
     }
@@ -169,19 +288,19 @@ class TaskServiceTest {
     void should_findAndReturnListTasks_byPartialCompletedTrueFilter() {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
-            TaskFilterDTO filter = new TaskFilterDTO(null, Boolean.TRUE);
+            TaskFilterDTO filter = new TaskFilterDTO(null, Boolean.TRUE, null);
 
-            when(taskRespository.findByFilters(filter.content(), filter.completed(), user))
-                    .thenReturn(List.of(task2));
+            when(taskRespository.findByFilters(filter.content(), filter.completed(), user, PAGE_BY_ID))
+                    .thenReturn(new PageImpl<>(List.of(taskData2)));
 
-            List<TaskDataDTO> result = taskService.findByFilter(filter);
+            Page<TaskDataDTO> result = taskService.findByFilter(filter, PageRequest.of(0, 20));
 
             assertNotNull(result);
-            assertEquals(1, result.size());
-            assertTrue(result.stream().allMatch(task -> task.completed().equals(Boolean.TRUE)));
-            assertTrue(result.stream().anyMatch(task -> task.content().equals(task2.getContent())));
+            assertEquals(1, result.getNumberOfElements());
+            assertTrue(result.getContent().stream().allMatch(task -> task.completed().equals(Boolean.TRUE)));
+            assertTrue(result.getContent().stream().anyMatch(task -> task.content().equals(task2.getContent())));
 
-            verify(taskRespository).findByFilters(filter.content(), filter.completed(), user);
+            verify(taskRespository).findByFilters(filter.content(), filter.completed(), user, PAGE_BY_ID);
             mockedStatic.verify(AuthenticationUtil::getCurrentUser);
         }
     }
@@ -189,41 +308,120 @@ class TaskServiceTest {
     @Test
     void should_findAndReturnListTasks_byPartialCompletedFalseFilter() {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
-            TaskFilterDTO filter = new TaskFilterDTO(null, Boolean.FALSE);
+            TaskFilterDTO filter = new TaskFilterDTO(null, Boolean.FALSE, null);
 
-            when(taskRespository.findByFilters(filter.content(), filter.completed(), user))
-                    .thenReturn(List.of(task1, task3));
+            when(taskRespository.findByFilters(filter.content(), filter.completed(), user, PAGE_BY_ID))
+                    .thenReturn(new PageImpl<>(List.of(taskData1, taskData3)));
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
 
-            List<TaskDataDTO> result = taskService.findByFilter(filter);
+            Page<TaskDataDTO> result = taskService.findByFilter(filter, PageRequest.of(0, 20));
 
             assertNotNull(result);
-            assertEquals(2, result.size());
-            assertTrue(result.stream().allMatch(task -> task.completed().equals(Boolean.FALSE)));
-            assertTrue(result.stream().anyMatch(task -> task.content().equals(task1.getContent())));
-            assertTrue(result.stream().anyMatch(task -> task.content().equals(task3.getContent())));
+            assertEquals(2, result.getNumberOfElements());
+            assertTrue(result.getContent().stream().allMatch(task -> task.completed().equals(Boolean.FALSE)));
+            assertTrue(result.getContent().stream().anyMatch(task -> task.content().equals(task1.getContent())));
+            assertTrue(result.getContent().stream().anyMatch(task -> task.content().equals(task3.getContent())));
 
-            verify(taskRespository).findByFilters(filter.content(), filter.completed(), user);
+            verify(taskRespository).findByFilters(filter.content(), filter.completed(), user, PAGE_BY_ID);
             mockedStatic.verify(AuthenticationUtil::getCurrentUser);
         }
     }
 
     @Test
-    void should_update_existing_task() {
+    void should_searchByFullText_whenModeIsFullText() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            TaskFilterDTO filter = new TaskFilterDTO("docker", null, TaskSearchMode.FULLTEXT);
+
+            when(taskRespository.findByFullTextContent(filter.content(), filter.completed(), user.getId(), PageRequest.of(0, 20)))
+                    .thenReturn(new PageImpl<>(List.of(taskData2)));
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+
+            Page<TaskDataDTO> result = taskService.findByFilter(filter, PageRequest.of(0, 20));
+
+            assertEquals(1, result.getNumberOfElements());
+            verify(taskRespository, never()).findByFilters(any(), any(), any(), any());
+        }
+    }
+
+    @Test
+    void should_fallbackToSubstring_whenFullTextTermIsTooShort() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            TaskFilterDTO filter = new TaskFilterDTO("do", null, TaskSearchMode.FULLTEXT);
+
+            when(taskRespository.findByFilters(filter.content(), filter.completed(), user, PAGE_BY_ID))
+                    .thenReturn(new PageImpl<>(List.of(taskData2)));
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+
+            Page<TaskDataDTO> result = taskService.findByFilter(filter, PageRequest.of(0, 20));
+
+            assertEquals(1, result.getNumberOfElements());
+            verify(taskRespository, never()).findByFullTextContent(any(), any(), any(), any());
+        }
+    }
+
+    @Test
+    void should_searchIndex_andHydrateInRankOrder_whenModeIsIndex() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            TaskFilterDTO filter = new TaskFilterDTO("learn", null, TaskSearchMode.INDEX);
+
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            when(taskIndexService.search(user.getId(), filter.content(), filter.completed())).thenReturn(List.of(2L, 1L));
+            when(taskRespository.findDataByIdIn(List.of(2L, 1L))).thenReturn(List.of(taskData1, taskData2));
+
+            Page<TaskDataDTO> result = taskService.findByFilter(filter, PageRequest.of(0, 20));
+
+            assertEquals(List.of(2L, 1L), result.getContent().stream().map(TaskDataDTO::id).toList());
+            verify(taskRespository, never()).findByFilters(any(), any(), any(), any());
+        }
+    }
+
+    @Test
+    void should_hydrateOnlyRequestedPage_whenModeIsIndex() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            TaskFilterDTO filter = new TaskFilterDTO("learn", null, TaskSearchMode.INDEX);
+
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            when(taskIndexService.search(user.getId(), filter.content(), filter.completed())).thenReturn(List.of(3L, 2L, 1L));
+            when(taskRespository.findDataByIdIn(List.of(1L))).thenReturn(List.of(taskData1));
+
+            Page<TaskDataDTO> result = taskService.findByFilter(filter, PageRequest.of(1, 2));
+
+            assertEquals(List.of(1L), result.getContent().stream().map(TaskDataDTO::id).toList());
+            assertEquals(3, result.getTotalElements());
+        }
+    }
+
+    @Test
+    void should_streamFilteredTasks_toConsumer() {
+        try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
+            TaskFilterDTO filter = new TaskFilterDTO("learn", null, null);
+            List<TaskDataDTO> streamed = new ArrayList<>();
+
+            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            when(taskRespository.streamByFilters(filter.content(), filter.completed(), user)).thenReturn(Stream.of(
+                    new TaskDataDTO(1L, "Learn JUnit 5", Boolean.FALSE), new TaskDataDTO(2L, "learn Docker", Boolean.TRUE)));
+
+            taskService.streamByFilter(filter, streamed::add);
+
+            assertEquals(List.of(1L, 2L), streamed.stream().map(TaskDataDTO::id).toList());
+            verify(taskRespository, never()).findByFilters(any(), any(), any(), any());
+        }
+    }
+
+    @Test
+    void should_update_existing_task_withSingleStatement() {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
-            when(taskRespository.findByIdAndUser(1L, user)).thenReturn(Optional.of(task1));
-            when(taskRespository.save(any())).thenReturn(mock(Task.class));
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
 
             TaskDTO taskUpdate = new TaskDTO("Migrate system to Spring boot", Boolean.FALSE);
+            when(taskRespository.updateByIdAndUser(1L, user, taskUpdate.content(), taskUpdate.completed())).thenReturn(1);
 
             taskService.updateTask(1L, taskUpdate);
 
-            assertEquals(taskUpdate.content(), task1.getContent());
-            assertEquals(taskUpdate.completed(), task1.getCompleted());
-
-            verify(taskRespository).findByIdAndUser(1L, user);
-            verify(taskRespository).save(any(Task.class));
+            verify(taskRespository).updateByIdAndUser(1L, user, taskUpdate.content(), taskUpdate.completed());
+            verifyNoMoreInteractions(taskRespository);
+            verify(taskIndexService).index(new TaskIndexDocument(1L, user.getId(), taskUpdate.content(), taskUpdate.completed()));
+            verify(taskSuggestionService).saved(user.getId(), 1L, "Migrate system to Spring boot");
             mockedStatic.verify(AuthenticationUtil::getCurrentUser);
         }
     }
@@ -233,37 +431,34 @@ class TaskServiceTest {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
             Long invalidId = 1L;
 
-            when(taskRespository.findByIdAndUser(invalidId, user)).thenReturn(Optional.empty());
+            when(taskRespository.updateByIdAndUser(invalidId, user, "some content", Boolean.FALSE)).thenReturn(0);
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
 
             assertThrowsExactly(ResourceNotFoundException.class,
                     () -> taskService.updateTask(invalidId, new TaskDTO("some content", Boolean.FALSE)));
 
-            verify(taskRespository).findByIdAndUser(invalidId, user);
-            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            verify(taskRespository).updateByIdAndUser(invalidId, user, "some content", Boolean.FALSE);
+            verifyNoInteractions(taskIndexService);
         }
     }
 
     @Test
     void should_change_task_completedStatus() {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
-            when(taskRespository.findByIdAndUser(1L, user)).thenReturn(Optional.of(task1));
-            when(taskRespository.findByIdAndUser(2L, user)).thenReturn(Optional.of(task2));
-
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
 
-            when(taskRespository.save(any(Task.class))).thenReturn(mock(Task.class), mock(Task.class));
+            when(taskRespository.updateCompletedByIdAndUser(1L, user, Boolean.TRUE)).thenReturn(1);
+            when(taskRespository.updateCompletedByIdAndUser(2L, user, Boolean.FALSE)).thenReturn(1);
 
             taskService.patchCompletedStatus(1L, new TaskCompletedDTO(Boolean.TRUE));
             taskService.patchCompletedStatus(2L, new TaskCompletedDTO(Boolean.FALSE));
 
-            assertEquals(Boolean.TRUE, task1.getCompleted());
-            assertEquals(Boolean.FALSE, task2.getCompleted());
-
-            verify(taskRespository, times(1)).findByIdAndUser(1L, user);
-            verify(taskRespository, times(1)).findByIdAndUser(2L, user);
-            verify(taskRespository, times(2)).save(any(Task.class));
-            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            verify(taskRespository).updateCompletedByIdAndUser(1L, user, Boolean.TRUE);
+            verify(taskRespository).updateCompletedByIdAndUser(2L, user, Boolean.FALSE);
+            verify(taskRespository, never()).save(any(Task.class));
+            verify(taskIndexService).updateCompleted(1L, Boolean.TRUE);
+            verify(taskIndexService).updateCompleted(2L, Boolean.FALSE);
+            verifyNoInteractions(taskSuggestionService);
         }
     }
 
@@ -274,13 +469,13 @@ class TaskServiceTest {
 
             Long invalidId = 1000L;
 
-            when(taskRespository.findByIdAndUser(invalidId, user)).thenReturn(Optional.empty());
+            when(taskRespository.updateCompletedByIdAndUser(invalidId, user, Boolean.FALSE)).thenReturn(0);
 
             assertThrowsExactly(ResourceNotFoundException.class,
                     () -> taskService.patchCompletedStatus(invalidId, new TaskCompletedDTO(Boolean.FALSE)));
 
-            verify(taskRespository).findByIdAndUser(invalidId, user);
-            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            verify(taskRespository).updateCompletedByIdAndUser(invalidId, user, Boolean.FALSE);
+            verifyNoInteractions(taskIndexService);
         }
     }
 
@@ -289,14 +484,14 @@ class TaskServiceTest {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
 
-            when(taskRespository.findByIdAndUser(1L, user)).thenReturn(Optional.of(task1));
-            doNothing().when(taskRespository).delete(task1);
+            when(taskRespository.deleteByIdAndUser(1L, user)).thenReturn(1);
 
             taskService.deleteTaskById(1L);
 
-            verify(taskRespository).findByIdAndUser(1L, user);
-            verify(taskRespository).delete(task1);
-            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            verify(taskRespository).deleteByIdAndUser(1L, user);
+            verifyNoMoreInteractions(taskRespository);
+            verify(taskIndexService).delete(1L);
+            verify(taskSuggestionService).removed(user.getId(), 1L);
         }
 
     }
@@ -306,14 +501,14 @@ class TaskServiceTest {
         try (MockedStatic<AuthenticationUtil> mockedStatic = mockStatic(AuthenticationUtil.class)) {
             Long invalidId = 1000L;
 
-            when(taskRespository.findByIdAndUser(invalidId, user)).thenReturn(Optional.empty());
+            when(taskRespository.deleteByIdAndUser(invalidId, user)).thenReturn(0);
             mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
 
             assertThrowsExactly(ResourceNotFoundException.class,
                     () -> taskService.deleteTaskById(invalidId));
 
-            verify(taskRespository).findByIdAndUser(invalidId, user);
-            mockedStatic.when(AuthenticationUtil::getCurrentUser).thenReturn(user);
+            verify(taskRespository).deleteByIdAndUser(invalidId, user);
+            verifyNoInteractions(taskIndexService);
         }
 
     }
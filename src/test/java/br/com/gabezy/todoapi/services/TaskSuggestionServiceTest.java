@@ -0,0 +1,135 @@
+package br.com.gabezy.todoapi.services;
+
+import br.com.gabezy.todoapi.domain.dto.TaskDataDTO;
+import br.com.gabezy.todoapi.repositories.TaskRespository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSuggestionServiceTest {
+
+    @Mock
+    private TaskRespository taskRespository;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private TaskSuggestionService taskSuggestionService;
+
+    @BeforeEach
+    void setUp() {
+        taskSuggestionService = new TaskSuggestionService(taskRespository, 100, Duration.ofMinutes(10),
+                Duration.ofMinutes(30), now::get);
+    }
+
+    @Test
+    void should_loadUserTasksOnce_andServeFollowingSuggestionsFromMemory() {
+        when(taskRespository.findDataByUserId(1L)).thenReturn(List.of(
+                new TaskDataDTO(1L, "Learn Docker", Boolean.FALSE), new TaskDataDTO(2L, "Deploy TODO app", Boolean.TRUE)));
+
+        assertEquals(List.of("Learn Docker"), taskSuggestionService.suggest(1L, "le", 10));
+        assertEquals(List.of("Deploy TODO app", "Learn Docker"), taskSuggestionService.suggest(1L, "d", 10));
+
+        verify(taskRespository, times(1)).findDataByUserId(1L);
+    }
+
+    @Test
+    void should_applyTaskWrites_toLoadedTrie() {
+        when(taskRespository.findDataByUserId(1L)).thenReturn(List.of(
+                new TaskDataDTO(1L, "Learn Docker", Boolean.FALSE), new TaskDataDTO(2L, "Learn Spring", Boolean.FALSE)));
+        taskSuggestionService.suggest(1L, "le", 10);
+
+        taskSuggestionService.saved(1L, 3L, "Learn Java");
+        taskSuggestionService.saved(1L, 2L, "Learn Kotlin");
+        taskSuggestionService.removed(1L, 1L);
+
+        assertEquals(List.of("Learn Java", "Learn Kotlin"), taskSuggestionService.suggest(1L, "le", 10));
+    }
+
+    @Test
+    void should_notCountTaskTwice_whenWriteWasAlreadyLoaded() {
+        when(taskRespository.findDataByUserId(1L)).thenReturn(List.of(
+                new TaskDataDTO(1L, "Learn Docker", Boolean.FALSE), new TaskDataDTO(2L, "Learn Java", Boolean.FALSE)));
+        taskSuggestionService.suggest(1L, "le", 10);
+
+        taskSuggestionService.saved(1L, 1L, "Learn Docker");
+        taskSuggestionService.removed(1L, 3L);
+
+        assertEquals(List.of("Learn Docker", "Learn Java"), taskSuggestionService.suggest(1L, "le", 10));
+    }
+
+    @Test
+    void should_applyTaskWrites_onlyOnceTheyCommit() {
+        when(taskRespository.findDataByUserId(1L)).thenReturn(List.of(new TaskDataDTO(1L, "Learn Docker", Boolean.FALSE)));
+        taskSuggestionService.suggest(1L, "le", 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskSuggestionService.saved(1L, 2L, "Learn Java");
+            assertEquals(List.of("Learn Docker"), taskSuggestionService.suggest(1L, "le", 10));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of("Learn Docker", "Learn Java"), taskSuggestionService.suggest(1L, "le", 10));
+    }
+
+    @Test
+    void should_reloadUserTasks_afterEviction() {
+        when(taskRespository.findDataByUserId(1L)).thenReturn(List.of(new TaskDataDTO(1L, "Learn Docker", Boolean.FALSE)));
+        taskSuggestionService.suggest(1L, "le", 10);
+
+        taskSuggestionService.evict(1L);
+        taskSuggestionService.suggest(1L, "le", 10);
+
+        verify(taskRespository, times(2)).findDataByUserId(1L);
+    }
+
+    @Test
+    void should_reloadUserTasks_onceTrieReachesMaxAge_evenWhileInUse() {
+        when(taskRespository.findDataByUserId(1L)).thenReturn(List.of(new TaskDataDTO(1L, "Learn Docker", Boolean.FALSE)));
+        taskSuggestionService.suggest(1L, "le", 10);
+
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(Duration.ofMinutes(5).toNanos());
+            taskSuggestionService.saved(1L, 2L, "Learn Java");
+            taskSuggestionService.suggest(1L, "le", 10);
+        }
+        verify(taskRespository, times(1)).findDataByUserId(1L);
+
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+        taskSuggestionService.suggest(1L, "le", 10);
+
+        verify(taskRespository, times(2)).findDataByUserId(1L);
+    }
+
+    @Test
+    void should_ignoreTaskWrites_whenUserTrieIsNotLoaded() {
+        taskSuggestionService.saved(1L, 1L, "Learn Java");
+        verifyNoInteractions(taskRespository);
+
+        when(taskRespository.findDataByUserId(1L)).thenReturn(List.of(new TaskDataDTO(1L, "Learn Java", Boolean.FALSE)));
+        assertEquals(List.of("Learn Java"), taskSuggestionService.suggest(1L, "le", 10));
+    }
+
+    @Test
+    void should_returnEmptyList_withoutLoading_whenPrefixIsBlank() {
+        assertTrue(taskSuggestionService.suggest(1L, "  ", 10).isEmpty());
+        verifyNoInteractions(taskRespository);
+    }
+
+}
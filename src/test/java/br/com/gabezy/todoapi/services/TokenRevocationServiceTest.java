@@ -0,0 +1,110 @@
+package br.com.gabezy.todoapi.services;
+
+import br.com.gabezy.todoapi.domain.detail.VerifiedToken;
+import br.com.gabezy.todoapi.domain.entity.TokenRevocation;
+import br.com.gabezy.todoapi.repositories.TokenRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    private VerifiedToken verifiedToken;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(tokenRevocationRepository, 1000, 0.01);
+
+        Instant issuedAt = Instant.now().minus(1, ChronoUnit.MINUTES);
+        verifiedToken = new VerifiedToken("jonh.doe@example.com", "token-id", issuedAt,
+                issuedAt.plus(4, ChronoUnit.HOURS), null, null);
+    }
+
+    @Test
+    void should_notHitRepository_whenTokenWasNeverRevoked() {
+        assertFalse(tokenRevocationService.isRevoked(verifiedToken));
+
+        verifyNoInteractions(tokenRevocationRepository);
+    }
+
+    @Test
+    void should_revokeToken_untilItExpires() {
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+        when(tokenRevocationRepository.existsById("jti:token-id")).thenReturn(true);
+
+        tokenRevocationService.revokeToken(verifiedToken);
+
+        verify(tokenRevocationRepository).save(captor.capture());
+        assertEquals("jti:token-id", captor.getValue().getRevocationKey());
+        assertEquals(verifiedToken.expiresAt(), captor.getValue().getExpiresAt().toInstant());
+        assertTrue(tokenRevocationService.isRevoked(verifiedToken));
+    }
+
+    @Test
+    void should_revokeSubject_onlyForTokensIssuedUpToTheRevocation() {
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+
+        tokenRevocationService.revokeSubject(verifiedToken.subject());
+
+        verify(tokenRevocationRepository).save(captor.capture());
+        TokenRevocation revocation = captor.getValue();
+        when(tokenRevocationRepository.findById("sub:jonh.doe@example.com")).thenReturn(Optional.of(revocation));
+
+        VerifiedToken newerToken = new VerifiedToken(verifiedToken.subject(), "newer-token-id",
+                revocation.getNotBefore().toInstant().plusSeconds(1), verifiedToken.expiresAt(), null, null);
+
+        assertTrue(tokenRevocationService.isRevoked(verifiedToken));
+        assertFalse(tokenRevocationService.isRevoked(newerToken));
+    }
+
+    @Test
+    void should_reloadFilter_fromActiveRevocations() {
+        when(tokenRevocationRepository.findActiveKeys(any(OffsetDateTime.class))).thenReturn(List.of("jti:token-id"));
+        when(tokenRevocationRepository.existsById("jti:token-id")).thenReturn(true);
+
+        tokenRevocationService.reload();
+
+        verify(tokenRevocationRepository).deleteExpired(any(OffsetDateTime.class));
+        assertTrue(tokenRevocationService.isRevoked(verifiedToken));
+        verify(tokenRevocationRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void should_addRevocationToFilter_onlyOnceItCommits() {
+        when(tokenRevocationRepository.existsById("jti:token-id")).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationService.revokeToken(verifiedToken);
+            assertFalse(tokenRevocationService.isRevoked(verifiedToken));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(tokenRevocationService.isRevoked(verifiedToken));
+    }
+
+}
@@ -1,5 +1,6 @@
 package br.com.gabezy.todoapi.services;
 
+import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
 import br.com.gabezy.todoapi.domain.entity.Role;
 import br.com.gabezy.todoapi.domain.entity.User;
 import br.com.gabezy.todoapi.domain.enumaration.RoleName;
@@ -59,4 +60,18 @@ class UserDetailsServiceImplTest{
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void should_updatePassword_andReturnUpdatedUser() {
+        User updatedUser = new User();
+        updatedUser.setEmail(user.getEmail());
+        updatedUser.setPassword("rehashed");
+        updatedUser.setRoles(user.getRoles());
+
+        when(userService.updatePassword(user.getEmail(), "rehashed"))
+                .thenReturn(updatedUser);
+
+        UserDetails userDetails = userDetailsService.updatePassword(new UserDetailsImpl(user), "rehashed");
+
+        assertEquals("rehashed", userDetails.getPassword());
+    }
+}
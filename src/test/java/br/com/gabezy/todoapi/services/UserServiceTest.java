@@ -1,5 +1,6 @@
 package br.com.gabezy.todoapi.services;
 
+import br.com.gabezy.todoapi.config.security.PrincipalCache;
 import br.com.gabezy.todoapi.domain.detail.UserDetailsImpl;
 import br.com.gabezy.todoapi.domain.dto.CreateUserDTO;
 import br.com.gabezy.todoapi.domain.dto.UpdateUserDTO;
@@ -13,20 +14,26 @@ import br.com.gabezy.todoapi.repositories.UserRespository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,9 +54,29 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private TaskIndexService taskIndexService;
+
+    @Mock
+    private UserEmailIndexService userEmailIndexService;
+
+    @Mock
+    private TaskSuggestionService taskSuggestionService;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private UserService userService;
 
+    private static final Pageable PAGE_BY_ID = PageRequest.of(0, 20, Sort.by("id"));
+
     private Role userRole;
     private Role adminRole;
     private User user;
@@ -107,6 +134,38 @@ class UserServiceTest {
         verify(passwordEncoder).encode(createUserDTO.password());
         verify(roleService).findByName(RoleName.USER);
         verify(userRepository).save(any(User.class));
+        verify(userEmailIndexService).index(user.getId(), user.getEmail());
+        verify(principalCache).invalidate(createUserDTO.email());
+    }
+
+    @Test
+    void should_hashPasswordBeforeTransactionStarts_whenCreateUser() {
+        PlatformTransactionManager transactionManager = transactionTemplate.getTransactionManager();
+        var createUserDTO = new CreateUserDTO("john.doe@example.com", "password123");
+
+        when(passwordEncoder.encode(createUserDTO.password())).thenReturn(encodedPassword);
+        when(roleService.findByName(RoleName.USER)).thenReturn(userRole);
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        userService.createUser(createUserDTO);
+
+        InOrder inOrder = inOrder(passwordEncoder, transactionManager, userRepository);
+        inOrder.verify(passwordEncoder).encode(createUserDTO.password());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).save(any(User.class));
+    }
+
+    @Test
+    void should_updatePasswordHash_andInvalidateCachedPrincipal() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        User result = userService.updatePassword(user.getEmail(), "rehashed");
+
+        assertEquals("rehashed", result.getPassword());
+        verify(userRepository).save(user);
+        verify(principalCache).invalidate(user.getEmail());
+        verifyNoInteractions(passwordEncoder);
     }
 
     @Test
@@ -137,108 +196,127 @@ class UserServiceTest {
     @Test
     void should_findAndReturnListUsersInfoDTOPage() {
         Pageable pageable = PageRequest.of(0, 5);
-        List<User> users = List.of(user);
-        Page<User> userPage = new PageImpl<>(users, pageable, users.size());
+        List<Long> ids = List.of(user.getId(), admin.getId());
+        Page<Long> idPage = new PageImpl<>(ids, pageable, 7);
 
-        when(userRepository.findAll(pageable)).thenReturn(userPage);
+        when(userRepository.findIdsBy(pageable)).thenReturn(idPage);
+        when(userRepository.findWithRolesByIdIn(ids)).thenReturn(List.of(admin, user));
 
         Page<UserDTO> result = userService.findAll(pageable);
 
         assertNotNull(result);
-        assertFalse(result.isEmpty());
-        assertEquals(1, result.getTotalElements());
-        assertEquals(user.getId(), result.getContent().get(0).id());
+        assertEquals(7, result.getTotalElements());
+        assertEquals(ids, result.getContent().stream().map(UserDTO::id).toList());
         assertEquals(user.getRoles().size(), result.getContent().get(0).roles().size());
 
-        verify(userRepository, times(1)).findAll(pageable);
+        verify(userRepository, times(1)).findIdsBy(pageable);
+        verify(userRepository, times(1)).findWithRolesByIdIn(ids);
+        verify(userRepository, never()).findAll(pageable);
+    }
+
+    @Test
+    void should_findAndReturnUsersSlice_withoutCounting() {
+        Pageable pageable = PageRequest.of(0, 1);
+        Slice<Long> idSlice = new SliceImpl<>(List.of(user.getId()), pageable, true);
+
+        when(userRepository.findIdSliceBy(pageable)).thenReturn(idSlice);
+        when(userRepository.findWithRolesByIdIn(List.of(user.getId()))).thenReturn(List.of(user));
+
+        Slice<UserDTO> result = userService.findAllSlice(pageable);
+
+        assertTrue(result.hasNext());
+        assertEquals(user.getId(), result.getContent().get(0).id());
+
+        verify(userRepository, never()).findAll(pageable);
+        verify(userRepository, never()).count();
     }
 
     @Test
     void should_findAndReturnAllUsers_whenEmailAndRoleNameAreNull() {
         UserFilterDTO filter = new UserFilterDTO(null, null);
 
-        when(userRepository.findByEmailContainingAndRoleName(filter.email(), filter.roleName()))
-                .thenReturn(List.of(user, admin, adminAndUser));
+        when(userRepository.findByEmailContainingAndRoleName(filter.email(), filter.roleName(), PAGE_BY_ID))
+                .thenReturn(new PageImpl<>(List.of(user, admin, adminAndUser)));
 
-        List<UserDTO> result = userService.findByFilter(filter);
+        Page<UserDTO> result = userService.findByFilter(filter, PageRequest.of(0, 20));
 
-        assertEquals(3, result.size());
-        assertTrue(result.stream().anyMatch(dto ->
+        assertEquals(3, result.getNumberOfElements());
+        assertTrue(result.getContent().stream().anyMatch(dto ->
                 adminAndUser.getEmail().equals(dto.email())));
-        assertTrue(result.stream().anyMatch(dto ->
+        assertTrue(result.getContent().stream().anyMatch(dto ->
                 admin.getEmail().equals(dto.email())));
-        assertTrue(result.stream().anyMatch(dto ->
+        assertTrue(result.getContent().stream().anyMatch(dto ->
                 user.getEmail().equals(dto.email())));
 
-        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName());
+        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName(), PAGE_BY_ID);
     }
 
     @Test
     void should_findAndReturnListUsersInfoDTO_byPartialEmailFilter() {
         UserFilterDTO filter = new UserFilterDTO("doe", null);
 
-        when(userRepository.findByEmailContainingAndRoleName(filter.email(), filter.roleName()))
-                .thenReturn(List.of(user, admin));
+        when(userRepository.findByEmailContainingAndRoleName(filter.email(), filter.roleName(), PAGE_BY_ID))
+                .thenReturn(new PageImpl<>(List.of(user, admin)));
 
-        List<UserDTO> result = userService.findByFilter(filter);
+        Page<UserDTO> result = userService.findByFilter(filter, PageRequest.of(0, 20));
 
-        assertEquals(2, result.size(), "Should return two users");
-        assertTrue(result.stream().anyMatch(dto ->
+        assertEquals(2, result.getNumberOfElements(), "Should return two users");
+        assertTrue(result.getContent().stream().anyMatch(dto ->
                 "john.doe@example.com".equals(dto.email())), "Should contain john.doe@example.com");
-        assertTrue(result.stream().anyMatch(dto ->
+        assertTrue(result.getContent().stream().anyMatch(dto ->
                 "jane.doe@example.com".equals(dto.email())), "Should contain jane.doe@example.com");
 
-        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName());
+        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName(), PAGE_BY_ID);
     }
 
     @Test
     void should_findAndReturnListUsersInfoDTO_byAdministratorRoleFilter() {
         UserFilterDTO filter = new UserFilterDTO(null, RoleName.ADMINISTRATOR);
 
-        when(userRepository.findByEmailContainingAndRoleName(null, RoleName.ADMINISTRATOR))
-                .thenReturn(List.of(admin, adminAndUser));
+        when(userRepository.findByEmailContainingAndRoleName(null, RoleName.ADMINISTRATOR, PAGE_BY_ID))
+                .thenReturn(new PageImpl<>(List.of(admin, adminAndUser)));
 
-        List<UserDTO> result = userService.findByFilter(filter);
+        Page<UserDTO> result = userService.findByFilter(filter, PageRequest.of(0, 20));
 
-        assertEquals(2, result.size());
-        assertEquals("jane.doe@example.com", result.get(0).email());
-        assertEquals(RoleName.ADMINISTRATOR, result.get(0).roles().get(0).getName());
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals("jane.doe@example.com", result.getContent().get(0).email());
+        assertEquals(RoleName.ADMINISTRATOR, result.getContent().get(0).roles().get(0).getName());
 
-        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName());
+        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName(), PAGE_BY_ID);
     }
 
     @Test
     void should_findAndReturnListUsersInfoDTO_byEmailAndRoleFilter() {
         UserFilterDTO filter = new UserFilterDTO("j", RoleName.USER);
 
-        when(userRepository.findByEmailContainingAndRoleName("j", RoleName.USER))
-                .thenReturn(List.of(user, adminAndUser));
+        when(userRepository.findByEmailContainingAndRoleName("j", RoleName.USER, PAGE_BY_ID))
+                .thenReturn(new PageImpl<>(List.of(user, adminAndUser)));
 
-        List<UserDTO> result = userService.findByFilter(filter);
+        Page<UserDTO> result = userService.findByFilter(filter, PageRequest.of(0, 20));
 
-        assertEquals(2, result.size());
-        assertEquals(user.getEmail(), result.get(0).email());
-        assertTrue(result.get(0).roles().stream().anyMatch(role ->
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals(user.getEmail(), result.getContent().get(0).email());
+        assertTrue(result.getContent().get(0).roles().stream().anyMatch(role ->
                 RoleName.USER.equals(role.getName())));
-        assertEquals(adminAndUser.getEmail(), result.get(1).email());
-        assertTrue(result.get(1).roles().stream().anyMatch(role ->
+        assertEquals(adminAndUser.getEmail(), result.getContent().get(1).email());
+        assertTrue(result.getContent().get(1).roles().stream().anyMatch(role ->
                 RoleName.USER.equals(role.getName())));
 
-        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName());
+        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName(), PAGE_BY_ID);
     }
 
     @Test
     void should_findAndReturn_emptyList_whenUserNoMatches_filter() {
         UserFilterDTO filter = new UserFilterDTO("nonexisting", null);
 
-        when(userRepository.findByEmailContainingAndRoleName(filter.email(), filter.roleName()))
-                .thenReturn(Collections.emptyList());
+        when(userRepository.findByEmailContainingAndRoleName(filter.email(), filter.roleName(), PAGE_BY_ID))
+                .thenReturn(Page.empty());
 
-        List<UserDTO> result = userService.findByFilter(filter);
+        Page<UserDTO> result = userService.findByFilter(filter, PageRequest.of(0, 20));
 
         assertTrue(result.isEmpty());
 
-        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName());
+        verify(userRepository).findByEmailContainingAndRoleName(filter.email(), filter.roleName(), PAGE_BY_ID);
     }
 
     @Test
@@ -289,6 +367,9 @@ class UserServiceTest {
         verify(userRepository).findById(id);
         verify(passwordEncoder).encode(dto.password());
         verify(roleService).findByName(RoleName.ADMINISTRATOR);
+        verify(userEmailIndexService).index(id, dto.email());
+        verify(principalCache).invalidate("john.doe@example.com");
+        verify(principalCache).invalidate(dto.email());
     }
 
     @Test
@@ -326,7 +407,12 @@ class UserServiceTest {
         verify(auth).getPrincipal();
         verify(userDetails).getUsername();
         verify(userRepository).findById(1L);
+        verify(userEmailIndexService).remove(user.getId());
         verify(userRepository).delete(user);
+        verify(tokenRevocationService).revokeSubject(user.getEmail());
+        verify(taskIndexService).deleteByUser(user.getId());
+        verify(taskSuggestionService).evict(user.getId());
+        verify(principalCache).invalidate(user.getEmail());
     }
 
     @Test
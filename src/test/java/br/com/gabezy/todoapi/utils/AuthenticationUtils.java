@@ -37,7 +37,7 @@ public class AuthenticationUtils {
         jdbcTemplate.execute(insertUserSql);
         jdbcTemplate.execute(insertUserRoleSql);
 
-        return authenticationService.authenticate(loginDTO);
+        return authenticationService.authenticate(loginDTO, "127.0.0.1");
     }
 
     public TokenDTO generateTokenForAdministrator(JdbcTemplate jdbcTemplate, LoginDTO loginDTO) {
@@ -59,11 +59,11 @@ public class AuthenticationUtils {
         jdbcTemplate.execute(insertUserSql);
         jdbcTemplate.execute(insertUserRoleSql);
 
-        return authenticationService.authenticate(loginDTO);
+        return authenticationService.authenticate(loginDTO, "127.0.0.1");
     }
 
     public void cleanUpAssistantTables(JdbcTemplate jdbcTemplate) {
-        JdbcTestUtils.deleteFromTables(jdbcTemplate, "user_role", "users", "roles");
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "token_revocations", "user_email_trigrams", "user_role", "users", "roles");
     }
 
 }
@@ -0,0 +1,83 @@
+package br.com.gabezy.todoapi.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTest {
+
+    private PrefixTrie prefixTrie;
+
+    @BeforeEach
+    void setUp() {
+        prefixTrie = new PrefixTrie();
+        prefixTrie.add("Learn Docker");
+        prefixTrie.add("Learn Java");
+        prefixTrie.add("Fix jira issue #211321");
+        prefixTrie.add("Fix jira issue #front-end123213");
+    }
+
+    @Test
+    void should_completeFromAnyWordStart_ignoringCase() {
+        assertEquals(List.of("Learn Docker", "Learn Java"), prefixTrie.complete("LEA", 10));
+        assertEquals(List.of("Learn Java"), prefixTrie.complete("ja", 10));
+        assertEquals(List.of("Fix jira issue #211321", "Fix jira issue #front-end123213"), prefixTrie.complete("jira i", 10));
+        assertTrue(prefixTrie.complete("earn", 10).isEmpty());
+    }
+
+    @Test
+    void should_rankMostFrequentFirst_andRespectLimit() {
+        prefixTrie.add("Learn Java");
+        prefixTrie.add("Learn learning");
+
+        assertEquals(List.of("Learn Java", "Learn Docker"), prefixTrie.complete("learn", 2));
+        assertEquals(List.of("Learn Java", "Learn Docker", "Learn learning"), prefixTrie.complete("learn", 10));
+    }
+
+    @Test
+    void should_stopSuggestingText_onlyAfterEveryCopyIsRemoved() {
+        prefixTrie.add("Learn Java");
+
+        prefixTrie.remove("Learn Java");
+        assertEquals(List.of("Learn Java"), prefixTrie.complete("java", 10));
+
+        prefixTrie.remove("Learn Java");
+        assertTrue(prefixTrie.complete("java", 10).isEmpty());
+        assertEquals(List.of("Learn Docker"), prefixTrie.complete("learn", 10));
+    }
+
+    @Test
+    void should_matchPrefixLongerThanKeyLength_againstWholeText() {
+        String longText = "a".repeat(PrefixTrie.MAX_KEY_LENGTH) + "bc";
+        prefixTrie.add(longText);
+        prefixTrie.add("a".repeat(PrefixTrie.MAX_KEY_LENGTH) + "xy");
+
+        assertEquals(List.of(longText), prefixTrie.complete("a".repeat(PrefixTrie.MAX_KEY_LENGTH) + "b", 10));
+    }
+
+    @Test
+    void should_refreshCachedCompletions_afterWritesBelowThePrefix() {
+        assertEquals(List.of("Learn Docker", "Learn Java"), prefixTrie.complete("le", 10));
+
+        prefixTrie.add("Learn Docker");
+        prefixTrie.remove("Learn Java");
+
+        assertEquals(List.of("Learn Docker"), prefixTrie.complete("le", 1));
+        assertEquals(List.of("Learn Docker"), prefixTrie.complete("le", 10));
+    }
+
+    @Test
+    void should_rankEveryMatch_whenLimitIsAboveCachedCompletions() {
+        for (int i = 0; i < PrefixTrie.CACHED_COMPLETIONS; i++) {
+            prefixTrie.add("Learn topic " + (char) ('a' + i));
+        }
+
+        assertEquals(PrefixTrie.CACHED_COMPLETIONS + 2, prefixTrie.complete("learn", 100).size());
+        assertEquals(List.of("Learn Docker", "Learn Java"), prefixTrie.complete("learn", 2));
+    }
+
+}
@@ -0,0 +1,33 @@
+package br.com.gabezy.todoapi.utils;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the statements prepared by the calling thread between {@link #start()} and
+ * {@link #stop()}. Unlike the session factory statistics, the count leaves out what the scheduled jobs run in the
+ * background meanwhile. Enabled through the {@code hibernate.session_factory.statement_inspector} property.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    public static long stop() {
+        long count = COUNT.get()[0];
+        COUNT.remove();
+        return count;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+}
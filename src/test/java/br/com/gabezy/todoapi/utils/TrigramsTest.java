@@ -0,0 +1,29 @@
+package br.com.gabezy.todoapi.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramsTest {
+
+    @Test
+    void should_splitLowerCaseTextIntoDistinctTrigrams_inOrderOfAppearance() {
+        assertEquals(List.of("jan", "ane", "ne."), List.copyOf(Trigrams.of("Jane.")));
+        assertEquals(List.of("aaa"), List.copyOf(Trigrams.of("AAAAA")));
+    }
+
+    @Test
+    void should_returnNoTrigram_whenTextIsShorterThanATrigram() {
+        assertTrue(Trigrams.of("do").isEmpty());
+        assertTrue(Trigrams.of("").isEmpty());
+    }
+
+    @Test
+    void should_countSupplementaryCharactersAsOneCharacter() {
+        assertEquals(List.of("a😀b"), List.copyOf(Trigrams.of("A😀B")));
+    }
+
+}
@@ -0,0 +1,3 @@
+-- The test scripts insert tasks with explicit ids, so like any insert made outside the application (see V1.12) they
+-- reserve them in id_generators: the first block handed out is 501 to 1000.
+UPDATE id_generators SET NEXT_VAL = 1000 WHERE NAME = 'tasks';
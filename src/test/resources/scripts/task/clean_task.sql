@@ -1,4 +1,5 @@
 DELETE FROM tasks;
+DELETE FROM user_email_trigrams;
 DELETE FROM user_role;
 DELETE FROM users;
 DELETE FROM roles;
\ No newline at end of file
@@ -1,3 +1,5 @@
+DELETE FROM user_email_trigrams;
+DELETE FROM token_revocations;
 DELETE FROM user_role;
 DELETE FROM users;
 DELETE FROM roles;
\ No newline at end of file
@@ -12,3 +12,9 @@ INSERT INTO roles (IDT_ROLE, NAME) VALUES (2, 'ADMINISTRATOR');
 INSERT INTO user_role (IDT_USER, IDT_ROLE) VALUES
     (10, 1), (11, 1), (12, 1), (13, 1),
     (14, 1), (15, 1), (16, 1);
+
+INSERT INTO user_email_trigrams (TRIGRAM, IDT_USER)
+WITH RECURSIVE positions (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM positions WHERE n < 253)
+SELECT DISTINCT SUBSTRING(LOWER(u.EMAIL), p.n, 3), u.IDT_USER
+FROM users u
+JOIN positions p ON p.n <= CHAR_LENGTH(u.EMAIL) - 2;